@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import com.palantir.computemodules.benchmarks.InMemoryClient;
+import com.palantir.computemodules.benchmarks.Payloads;
+import com.palantir.computemodules.benchmarks.Payloads.Query;
+import com.palantir.computemodules.benchmarks.Payloads.Summary;
+import com.palantir.computemodules.client.ComputeModuleJob;
+import com.palantir.computemodules.functions.results.Failed;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import com.palantir.computemodules.polling.PollingStrategy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ComputeModuleBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private final InMemoryClient client = new InMemoryClient();
+    private final AtomicLong jobIds = new AtomicLong();
+    private final Failed failed = new Failed("jobId", nestedException(20));
+    private RawQuery query;
+
+    @Setup
+    public void setup() {
+        query = Payloads.rawQuery(size);
+        ComputeModule module = ComputeModule.builder()
+                .add((context, input) -> Payloads.summarize(input), Query.class, Summary.class, "summarize")
+                .withClient(client)
+                .withPollingStrategy(PollingStrategy.immediate())
+                .build();
+        Thread poller = new Thread(module::start, "benchmark-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    /*
+     * One job through poll, execute and post on the default executor, including the hand off between threads.
+     */
+    @Benchmark
+    public void pollExecutePost() {
+        String jobId = Long.toString(jobIds.incrementAndGet());
+        client.submit(new ComputeModuleJob(jobId, "summarize", query)).join();
+    }
+
+    @Benchmark
+    public long serializeException() throws IOException {
+        try (InputStream in = ComputeModule.serializeException(failed).openStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static Exception nestedException(int depth) {
+        if (depth == 0) {
+            return new IllegalStateException("Intentionally failing");
+        }
+        return nestedException(depth - 1);
+    }
+}
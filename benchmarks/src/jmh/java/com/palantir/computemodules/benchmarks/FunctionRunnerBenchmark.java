@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.benchmarks;
+
+import com.palantir.computemodules.benchmarks.Payloads.Query;
+import com.palantir.computemodules.benchmarks.Payloads.Summary;
+import com.palantir.computemodules.functions.Context;
+import com.palantir.computemodules.functions.FunctionRunner;
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.serde.DefaultDeserializer;
+import com.palantir.computemodules.functions.serde.DefaultSerializer;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FunctionRunnerBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private final FunctionRunner<Query, Summary> runner = new FunctionRunner<>(
+            (context, query) -> Payloads.summarize(query),
+            Query.class,
+            Summary.class,
+            new DefaultDeserializer<>(),
+            new DefaultSerializer<>());
+    private final Context context = new Context("jobId");
+    private RawQuery query;
+
+    @Setup
+    public void setup() {
+        query = Payloads.rawQuery(size);
+    }
+
+    /*
+     * Runs the function and writes its result body, as posting the result would.
+     */
+    @Benchmark
+    public Result run() throws IOException {
+        Result result = runner.run(context, query);
+        if (result instanceof Ok ok) {
+            ok.body().writeTo(OutputStream.nullOutputStream());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.benchmarks;
+
+import com.palantir.computemodules.client.Client;
+import com.palantir.computemodules.client.ComputeModuleJob;
+import com.palantir.computemodules.functions.results.ResultBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/*
+ * A Client that hands out queued jobs and discards posted results, so that a full poll, execute and post cycle can
+ * be measured without a transport.
+ */
+public final class InMemoryClient implements Client {
+    private final BlockingQueue<ComputeModuleJob> jobs = new LinkedBlockingQueue<>();
+    private final Map<String, CompletableFuture<Void>> results = new ConcurrentHashMap<>();
+
+    /*
+     * Enqueues the job, the returned future completes once its result has been posted.
+     */
+    public CompletableFuture<Void> submit(ComputeModuleJob job) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        results.put(job.jobId(), result);
+        jobs.add(job);
+        return result;
+    }
+
+    @Override
+    public Optional<ComputeModuleJob> getJob() {
+        try {
+            return Optional.of(jobs.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void postResult(String jobId, InputStream result) {
+        try (InputStream in = result) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        results.remove(jobId).complete(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> postResultAsync(String jobId, ResultBody body) {
+        try {
+            body.writeTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        results.remove(jobId).complete(null);
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+ * Synthetic job payloads shared by the benchmarks.
+ */
+public final class Payloads {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public enum Size {
+        SMALL(1),
+        MEDIUM(100),
+        LARGE(10_000);
+
+        private final int rows;
+
+        Size(int rows) {
+            this.rows = rows;
+        }
+    }
+
+    public record Row(String id, long value, double score, List<String> tags) {}
+
+    public record Query(List<Row> rows) {}
+
+    public record Summary(long total, double maxScore) {}
+
+    public static Query query(Size size) {
+        return new Query(IntStream.range(0, size.rows)
+                .mapToObj(i -> new Row("row-" + i, i, i / 7.0, List.of("alpha", "beta", "tag-" + (i % 16))))
+                .toList());
+    }
+
+    public static byte[] queryBytes(Size size) {
+        return write(query(size));
+    }
+
+    public static RawQuery rawQuery(Size size) {
+        byte[] bytes = queryBytes(size);
+        return RawQuery.of(bytes, 0, bytes.length);
+    }
+
+    /*
+     * A full job envelope as received from the runtime.
+     */
+    public static byte[] job(Size size, String queryType) {
+        String prefix = "{\"jobId\":\"00000000-0000-0000-0000-000000000000\",\"queryType\":\"" + queryType
+                + "\",\"temporaryCredentialsAuthToken\":\"token\",\"query\":";
+        byte[] query = queryBytes(size);
+        byte[] job = new byte[prefix.length() + query.length + 1];
+        System.arraycopy(prefix.getBytes(StandardCharsets.UTF_8), 0, job, 0, prefix.length());
+        System.arraycopy(query, 0, job, prefix.length(), query.length);
+        job[job.length - 1] = '}';
+        return job;
+    }
+
+    public static Summary summarize(Query query) {
+        long total = 0;
+        double maxScore = 0;
+        for (Row row : query.rows()) {
+            total += row.value();
+            maxScore = Math.max(maxScore, row.score());
+        }
+        return new Summary(total, maxScore);
+    }
+
+    private static byte[] write(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Payloads() {}
+}
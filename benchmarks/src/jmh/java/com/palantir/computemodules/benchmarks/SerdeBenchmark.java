@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.computemodules.benchmarks.Payloads.Query;
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.serde.DefaultDeserializer;
+import com.palantir.computemodules.functions.serde.DefaultSerializer;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerdeBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private final DefaultDeserializer<Query> deserializer = new DefaultDeserializer<>();
+    private final DefaultSerializer<Query> serializer = new DefaultSerializer<>();
+    private RawQuery rawQuery;
+    private Map<?, ?> treeQuery;
+    private Query query;
+
+    @Setup
+    public void setup() throws IOException {
+        rawQuery = Payloads.rawQuery(size);
+        query = Payloads.query(size);
+        treeQuery = new ObjectMapper().readValue(rawQuery.openStream(), Map.class);
+    }
+
+    @Benchmark
+    public Query deserializeRawQuery() {
+        return deserializer.deserialize(rawQuery, Query.class);
+    }
+
+    /*
+     * The path taken by jobs submitted through the TestClient, and by all jobs before queries were kept raw.
+     */
+    @Benchmark
+    public Query deserializeTree() {
+        return deserializer.deserialize(treeQuery, Query.class);
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        serializer.serialize(query, OutputStream.nullOutputStream());
+    }
+
+    /*
+     * Serializes through the result body pipe, as the TestClient and ComputeModuleClient read it.
+     */
+    @Benchmark
+    public long serializeThroughBody() throws IOException {
+        Ok ok = (Ok) serializer.serialize("jobId", query);
+        try (InputStream in = ok.result()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/*
+ * Pauses job intake while the heap is close to full. After every garbage collection the heap still in use is compared
+ * to the maximum heap size: at or above the high water mark pollers stop requesting jobs, and they resume once a later
+ * collection brings usage down to the low water mark. Jobs already running carry on, so the module slows down rather
+ * than running out of memory and losing all of them.
+ *
+ * Usage is taken after collections because usage between them includes garbage. Collections are never requested, a
+ * paused module that stops allocating is resumed by the rule below once its jobs finish.
+ *
+ * Jobs are always admitted while none are in flight: only finishing jobs can bring usage down, so a module whose heap
+ * stays above the low water mark while idle, say holding a full result cache, would otherwise never poll again.
+ */
+final class AdmissionController {
+    private static final SafeLogger log = SafeLoggerFactory.get(AdmissionController.class);
+
+    private final double highWaterMark;
+    private final double lowWaterMark;
+    private final Object lock = new Object();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicInteger jobsInFlight = new AtomicInteger();
+    private volatile boolean paused = false;
+    private volatile double heapUsage = 0;
+
+    AdmissionController(double highWaterMark, double lowWaterMark) {
+        this.highWaterMark = highWaterMark;
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    /*
+     * Starts listening for collections, once. A high water mark of 1 disables admission control.
+     */
+    void start() {
+        if (highWaterMark >= 1 || !started.compareAndSet(false, true)) {
+            return;
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getName)
+                .collect(Collectors.toSet());
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(
+                        (notification, handback) -> onNotification(notification, memory, heapPools), null, null);
+            }
+        }
+    }
+
+    /*
+     * Returns once intake is not paused, or no jobs are in flight.
+     */
+    void awaitAdmission() throws InterruptedException {
+        while (isBlocked()) {
+            synchronized (lock) {
+                if (isBlocked()) {
+                    lock.wait();
+                }
+            }
+        }
+    }
+
+    void jobStarted() {
+        jobsInFlight.incrementAndGet();
+    }
+
+    void jobFinished() {
+        if (jobsInFlight.decrementAndGet() == 0 && paused) {
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private boolean isBlocked() {
+        return paused && jobsInFlight.get() > 0;
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    /*
+     * The fraction of the maximum heap in use after the last collection.
+     */
+    double heapUsage() {
+        return heapUsage;
+    }
+
+    @VisibleForTesting
+    void update(double usage) {
+        heapUsage = usage;
+        synchronized (lock) {
+            if (!paused && usage >= highWaterMark) {
+                paused = true;
+                log.warn(
+                        "Heap usage above the high water mark, pausing job intake",
+                        SafeArg.of("heapUsage", usage),
+                        SafeArg.of("highWaterMark", highWaterMark));
+            } else if (paused && usage <= lowWaterMark) {
+                paused = false;
+                lock.notifyAll();
+                log.info(
+                        "Heap usage back below the low water mark, resuming job intake",
+                        SafeArg.of("heapUsage", usage),
+                        SafeArg.of("lowWaterMark", lowWaterMark));
+            }
+        }
+    }
+
+    private void onNotification(Notification notification, MemoryMXBean memory, Set<String> heapPools) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        update((double) used / max);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.computemodules.client.ComputeModuleJob;
+import com.palantir.computemodules.functions.BatchOptions;
+import com.palantir.computemodules.functions.BatchRunner;
+import com.palantir.computemodules.functions.Context;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.metrics.ComputeModuleMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Collects jobs for a single batch function and hands them to its FunctionExecutor as one batch once maxBatchSize jobs
+ * are waiting or the oldest has waited maxLinger, then fans the results back out to each job's future. Jobs whose
+ * future was cancelled before the batch starts, for example on timeout, are left out of it. A running batch is never
+ * interrupted on behalf of a single job, batch functions should check each job's Context, passed alongside its input,
+ * instead.
+ */
+final class Batcher {
+
+    private final String name;
+    private final BatchRunner<?, ?> runner;
+    private final BatchOptions options;
+    private final FunctionExecutor executor;
+    private final ScheduledExecutorService scheduler;
+    private final ComputeModuleMetrics metrics;
+
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> linger = null;
+
+    Batcher(
+            String name,
+            BatchRunner<?, ?> runner,
+            BatchOptions options,
+            FunctionExecutor executor,
+            ScheduledExecutorService scheduler,
+            ComputeModuleMetrics metrics) {
+        this.name = name;
+        this.runner = runner;
+        this.options = options;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+    }
+
+    ListenableFuture<Result> submit(ComputeModuleJob job, Context context, long receivedNanos) {
+        Pending added = new Pending(job, context, receivedNanos, SettableFuture.create());
+        List<Pending> batch = null;
+        synchronized (this) {
+            pending.add(added);
+            if (pending.size() >= options.maxBatchSize()) {
+                batch = drain();
+            } else if (pending.size() == 1) {
+                linger = scheduler.schedule(this::flush, options.maxLinger().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return added.result();
+    }
+
+    private void flush() {
+        List<Pending> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    private List<Pending> drain() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        if (linger != null) {
+            linger.cancel(false);
+            linger = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<Pending> batch) {
+        metrics.batchSize(name).update(batch.size());
+        ListenableFuture<Void> dispatched = executor.submit(() -> {
+            long start = System.nanoTime();
+            List<Pending> live = new ArrayList<>(batch.size());
+            List<Context> contexts = new ArrayList<>(batch.size());
+            List<Object> inputs = new ArrayList<>(batch.size());
+            for (Pending item : batch) {
+                if (item.result().isDone()) {
+                    continue;
+                }
+                metrics.queued().update(start - item.receivedNanos());
+                live.add(item);
+                contexts.add(item.context());
+                inputs.add(item.job().query());
+            }
+            if (live.isEmpty()) {
+                return null;
+            }
+            List<Result> results = runner.run(contexts, inputs, options.failureIsolation(), metrics.function(name));
+            for (int i = 0; i < live.size(); i++) {
+                live.get(i).result().set(results.get(i));
+            }
+            return null;
+        });
+        Futures.addCallback(
+                dispatched,
+                new FutureCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void ignored) {}
+
+                    @Override
+                    public void onFailure(Throwable throwable) {
+                        batch.forEach(item -> item.result().setException(throwable));
+                    }
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    private record Pending(ComputeModuleJob job, Context context, long receivedNanos, SettableFuture<Result> result) {}
+}
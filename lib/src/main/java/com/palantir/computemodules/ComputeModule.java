@@ -15,121 +15,552 @@
  */
 package com.palantir.computemodules;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.computemodules.cache.ResultCache;
 import com.palantir.computemodules.client.Client;
 import com.palantir.computemodules.client.ComputeModuleClient;
 import com.palantir.computemodules.client.ComputeModuleJob;
+import com.palantir.computemodules.events.PollEvent;
+import com.palantir.computemodules.events.PostEvent;
+import com.palantir.computemodules.functions.AsyncFunction;
+import com.palantir.computemodules.functions.AsyncFunctionRunner;
+import com.palantir.computemodules.functions.BatchFunction;
+import com.palantir.computemodules.functions.BatchOptions;
+import com.palantir.computemodules.functions.BatchRunner;
+import com.palantir.computemodules.functions.CancellationToken;
 import com.palantir.computemodules.functions.Context;
 import com.palantir.computemodules.functions.Function;
+import com.palantir.computemodules.functions.FunctionOptions;
 import com.palantir.computemodules.functions.FunctionRunner;
+import com.palantir.computemodules.functions.Parallelism;
+import com.palantir.computemodules.functions.results.BufferPool;
 import com.palantir.computemodules.functions.results.Failed;
+import com.palantir.computemodules.functions.results.MeteredBody;
 import com.palantir.computemodules.functions.results.Ok;
 import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.results.ResultBody;
 import com.palantir.computemodules.functions.serde.DefaultDeserializer;
 import com.palantir.computemodules.functions.serde.DefaultSerializer;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import com.palantir.computemodules.functions.serde.SerializationException;
+import com.palantir.computemodules.metrics.ComputeModuleMetrics;
+import com.palantir.computemodules.metrics.DefaultMetricsRegistry;
+import com.palantir.computemodules.metrics.MetricsRegistry;
+import com.palantir.computemodules.metrics.PrometheusEndpoint;
+import com.palantir.computemodules.polling.PollingStrategy;
+import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeRuntimeException;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
-import java.io.BufferedWriter;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 public final class ComputeModule {
 
     private static final SafeLogger log = SafeLoggerFactory.get(ComputeModule.class);
 
+    /*
+     * Set to true to only run the warmup, start() returns without polling. Used for class data sharing training runs.
+     */
+    public static final String WARMUP_ONLY_PROPERTY = "computemodules.warmupOnly";
+
     private final Map<String, FunctionRunner<?, ?>> functions;
-    private final Client client;
+    private final Map<String, AsyncFunctionRunner<?, ?>> asyncFunctions;
+    private final Map<String, FunctionOptions> options;
+    private final Map<String, FunctionExecutor> functionExecutors;
+    private final FunctionExecutor unknownFunctionExecutor;
+    private final Map<String, ResultCache> caches;
+    private final Map<String, Batcher> batchers;
+    private final Optional<Duration> timeout;
+    private final Optional<Duration> slowJobThreshold;
+    private final ForkJoinPool subtaskPool;
+    private final AdmissionController admission;
+    private final Supplier<ScheduledExecutorService> scheduler;
+    private final Supplier<Client> client;
     private final ListeningExecutorService executor;
+    private final int pollers;
+    private final Semaphore inFlight;
+    private final PollingStrategy pollingStrategy;
+    private final MetricsRegistry metricsRegistry;
+    private final ComputeModuleMetrics metrics;
+    private final OptionalInt prometheusPort;
+    private final Warmup warmup;
 
     public static ComputeModuleBuilder builder() {
         return new ComputeModuleBuilder();
     }
 
     /*
-     * Starts the client polling loop. This is blocking, run in the background needed.
+     * Starts the client polling loop. This is blocking, run in the background needed. When more than one poller is
+     * configured the additional pollers are started as daemon threads, the calling thread runs the first poller.
+     * Warmup queries, if any, are run before polling starts.
      */
     public Void start() {
+        warmup.run();
+        if (Boolean.getBoolean(WARMUP_ONLY_PROPERTY)) {
+            log.info("Warmup only, not polling for jobs");
+            return null;
+        }
+        admission.start();
+        prometheusPort.ifPresent(port ->
+                PrometheusEndpoint.start((DefaultMetricsRegistry) metricsRegistry, new InetSocketAddress(port)));
+        for (int i = 1; i < pollers; i++) {
+            Thread poller = new Thread(this::poll, "compute-module-poller-" + i);
+            poller.setDaemon(true);
+            poller.start();
+        }
+        return poll();
+    }
+
+    /*
+     * A single polling loop. A permit is taken before each poll and only handed back once the job's result has been
+     * posted, so polling pauses whenever maxInFlightJobs jobs are executing or waiting to be posted. Between polls the
+     * poller waits as long as the PollingStrategy asks, and stops when interrupted.
+     */
+    private Void poll() {
+        PollingStrategy.Backoff backoff = pollingStrategy.newBackoff();
         while (true) {
-            client.getJob().ifPresent(job -> {
-                ListenableFuture<Result> future = executor.submit(() -> execute(job));
-                Futures.addCallback(
-                        future,
-                        new FutureCallback<Result>() {
-
-                            @Override
-                            public void onSuccess(Result result) {
-                                switch (result) {
-                                    case Ok ok -> client.postResult(ok.jobId(), ok.result());
-                                    case Failed failed -> client.postResult(failed.jobId(), serializeException(failed));
-                                }
-                            }
+            inFlight.acquireUninterruptibly();
+            try {
+                admission.awaitAdmission();
+            } catch (InterruptedException e) {
+                inFlight.release();
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Duration delay = Duration.ZERO;
+            boolean submitted = false;
+            try {
+                PollEvent event = new PollEvent();
+                event.begin();
+                long start = System.nanoTime();
+                Optional<ComputeModuleJob> job = client.get().getJob();
+                metrics.polled(System.nanoTime() - start, job.isPresent());
+                event.commit(
+                        job.map(ComputeModuleJob::jobId).orElse(null),
+                        job.map(ComputeModuleJob::queryType).orElse(null),
+                        job.map(ComputeModuleJob::query)
+                                .map(query -> query instanceof RawQuery raw ? raw.length() : -1)
+                                .orElse(-1));
+                if (job.isPresent()) {
+                    backoff.onJob();
+                    submit(job.get());
+                    submitted = true;
+                } else {
+                    delay = backoff.onEmpty(Duration.ofNanos(System.nanoTime() - start));
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to poll for job", e);
+                metrics.pollFailed();
+                delay = backoff.onError(e);
+            } finally {
+                if (!submitted) {
+                    inFlight.release();
+                }
+            }
+            if (!delay.isZero()) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+    }
+
+    /*
+     * A job with a timeout is cancelled once it runs out, which interrupts it if it is running and drops it if it is
+     * still queued, and a timeout failure is posted in place of its result. Failed jobs are cancelled as well, which
+     * cancels any subtasks they forked. A timed out job stays in flight until its function returns, so functions that
+     * ignore interruption cannot push the module past its in flight limit. The job counts as started before it is
+     * handed off, as it may finish before submit returns, and stops counting again if the hand-off throws.
+     */
+    private void submit(ComputeModuleJob job) {
+        metrics.jobStarted();
+        admission.jobStarted();
+        try {
+            handOff(job);
+        } catch (RuntimeException e) {
+            metrics.jobFinished();
+            admission.jobFinished();
+            throw e;
+        }
+    }
+
+    private void handOff(ComputeModuleJob job) {
+        long start = System.nanoTime();
+        FunctionOptions functionOptions = options.getOrDefault(job.queryType(), FunctionOptions.defaults());
+        Optional<Duration> jobTimeout = functionOptions.timeout().or(() -> timeout);
+        Context context = new Context(
+                job.jobId(),
+                jobTimeout.map(Instant.now()::plus),
+                new CancellationToken(),
+                new Parallelism(
+                        subtaskPool, functionOptions.maxParallelism().orElse(subtaskPool.getParallelism())));
+        SettableFuture<Void> stopped = SettableFuture.create();
+        ListenableFuture<Result> executed = execute(job, context, start, stopped);
+        ListenableFuture<Result> future = jobTimeout.isPresent()
+                ? Futures.withTimeout(executed, jobTimeout.get(), scheduler.get())
+                : executed;
+        Futures.addCallback(
+                future,
+                new FutureCallback<Result>() {
 
-                            @Override
-                            public void onFailure(Throwable throwable) {
-                                Failed failed = new Failed(job.jobId(), new Exception(throwable));
-                                client.postResult(failed.jobId(), serializeException(failed));
+                    @Override
+                    public void onSuccess(Result result) {
+                        long computeNanos = System.nanoTime() - start;
+                        logIfSlow(job, computeNanos);
+                        switch (result) {
+                            case Ok ok -> {
+                                ResultBody body = encoded(job, metered(job, ok.body()));
+                                post(job, body, computeNanos, true, stopped);
                             }
-                        },
-                        executor);
-            });
+                            case Failed failed -> {
+                                context.cancellation().cancel();
+                                post(job, serializeException(failed), computeNanos, false, stopped);
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable throwable) {
+                        long computeNanos = System.nanoTime() - start;
+                        logIfSlow(job, computeNanos);
+                        context.cancellation().cancel();
+                        Failed failed;
+                        if (throwable instanceof TimeoutException) {
+                            metrics.timeouts(job.queryType()).inc();
+                            failed = new Failed(
+                                    job.jobId(),
+                                    new SafeRuntimeException(
+                                            "Job timed out",
+                                            SafeArg.of("function", job.queryType()),
+                                            SafeArg.of("timeoutMillis", jobTimeout.orElseThrow().toMillis())));
+                        } else {
+                            failed = new Failed(job.jobId(), new Exception(throwable));
+                        }
+                        post(job, serializeException(failed), computeNanos, false, stopped);
+                    }
+                },
+                executor);
+    }
+
+    /*
+     * Uploads are asynchronous, the in flight permit is handed back once the upload completes. If an Ok result could
+     * not be posted the upload failure is posted in its place, so that the job does not go unanswered, or the
+     * serializer's failure if its output could not be serialized. Either way the body is released once its upload
+     * completes, pooled buffers stay out of the pool while the client still holds a stream or lease on them.
+     */
+    private void post(
+            ComputeModuleJob job,
+            ResultBody body,
+            long computeNanos,
+            boolean postFailureOnError,
+            ListenableFuture<Void> stopped) {
+        String jobId = job.jobId();
+        PostEvent event = new PostEvent();
+        event.begin();
+        long uploadStart = System.nanoTime();
+        CompletableFuture<Void> upload;
+        try {
+            upload = client.get().postResultAsync(jobId, body);
+        } catch (RuntimeException e) {
+            upload = CompletableFuture.failedFuture(e);
+        }
+        upload.whenComplete((ignored, throwable) -> {
+            body.release();
+            long uploadNanos = System.nanoTime() - uploadStart;
+            metrics.posted(uploadNanos, throwable == null);
+            event.commit(jobId, job.queryType(), body.contentLength().orElse(-1), throwable == null);
+            if (throwable == null) {
+                stopped.addListener(this::finish, MoreExecutors.directExecutor());
+                log.debug(
+                        "Posted result",
+                        SafeArg.of("jobId", jobId),
+                        SafeArg.of("computeMillis", TimeUnit.NANOSECONDS.toMillis(computeNanos)),
+                        SafeArg.of("uploadMillis", TimeUnit.NANOSECONDS.toMillis(uploadNanos)));
+            } else if (postFailureOnError) {
+                Optional<SerializationException> serialization = SerializationException.in(throwable);
+                Failed failed;
+                if (serialization.isPresent()) {
+                    failed = new Failed(jobId, serialization.get().failure());
+                } else {
+                    log.warn(
+                            "Failed to post result, posting the failure instead",
+                            SafeArg.of("jobId", jobId),
+                            throwable);
+                    failed = new Failed(jobId, new Exception(throwable));
+                }
+                post(job, serializeException(failed), computeNanos, false, stopped);
+            } else {
+                stopped.addListener(this::finish, MoreExecutors.directExecutor());
+                log.error(
+                        "Failed to post result",
+                        SafeArg.of("jobId", jobId),
+                        SafeArg.of("uploadMillis", TimeUnit.NANOSECONDS.toMillis(uploadNanos)),
+                        throwable);
+            }
+        });
+    }
+
+    /*
+     * Measured from the moment the job was received until its result was ready, so includes time spent queued. See the
+     * JFR events for where the time went.
+     */
+    private void logIfSlow(ComputeModuleJob job, long computeNanos) {
+        if (slowJobThreshold.isPresent() && computeNanos > slowJobThreshold.get().toNanos()) {
+            log.warn(
+                    "Slow job",
+                    SafeArg.of("jobId", job.jobId()),
+                    SafeArg.of("function", job.queryType()),
+                    SafeArg.of("computeMillis", TimeUnit.NANOSECONDS.toMillis(computeNanos)),
+                    SafeArg.of("thresholdMillis", slowJobThreshold.get().toMillis()));
         }
     }
 
-    private Result execute(ComputeModuleJob job) {
-        if (functions.containsKey(job.queryType())) {
-            return functions.get(job.queryType()).run(new Context(job.jobId()), job.query());
+    private void finish() {
+        inFlight.release();
+        metrics.jobFinished();
+        admission.jobFinished();
+    }
+
+    private ResultBody encoded(ComputeModuleJob job, ResultBody body) {
+        return options.getOrDefault(job.queryType(), FunctionOptions.defaults())
+                .compression()
+                .apply(body);
+    }
+
+    /*
+     * Bodies of known length are only sized, wrapping them would hide them from clients that post them without copies.
+     */
+    private ResultBody metered(ComputeModuleJob job, ResultBody body) {
+        OptionalLong length = body.contentLength();
+        if (length.isPresent()) {
+            metrics.resultBytes(job.queryType()).update(length.getAsLong());
+            return body;
+        }
+        return new MeteredBody(body, (bytes, durationNanos) -> {
+            metrics.resultBytes(job.queryType()).update(bytes);
+            metrics.resultWrite(job.queryType()).update(durationNanos);
+        });
+    }
+
+    /*
+     * Async functions only occupy a thread while they start, their result is posted from whichever thread completes
+     * them.
+     */
+    /*
+     * Stopped is set once the job no longer runs: when its function returns, or when it is dropped before it started.
+     * Async stages are cancelled on timeout, and batches keep running for their other jobs, so those jobs count as
+     * stopped as soon as their future completes.
+     */
+    private ListenableFuture<Result> execute(
+            ComputeModuleJob job, Context context, long start, SettableFuture<Void> stopped) {
+        Batcher batcher = batchers.get(job.queryType());
+        FunctionExecutor functionExecutor =
+                functionExecutors.getOrDefault(job.queryType(), unknownFunctionExecutor);
+        AsyncFunctionRunner<?, ?> async = asyncFunctions.get(job.queryType());
+        if (batcher != null || async != null) {
+            ListenableFuture<Result> submitted = batcher != null
+                    ? batcher.submit(job, context, start)
+                    : functionExecutor.submitAsync(() -> {
+                        metrics.queued().update(System.nanoTime() - start);
+                        return async.run(context, job.query(), metrics.function(job.queryType()));
+                    });
+            submitted.addListener(() -> stopped.set(null), MoreExecutors.directExecutor());
+            return submitted;
+        }
+        AtomicBoolean claimed = new AtomicBoolean();
+        ListenableFuture<Result> submitted = functionExecutor.submit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new CancellationException("Job was cancelled before it started");
+            }
+            try {
+                metrics.queued().update(System.nanoTime() - start);
+                return execute(job, context);
+            } finally {
+                stopped.set(null);
+            }
+        });
+        // a job cancelled or rejected before it started never runs the callable, so it stops here instead
+        submitted.addListener(
+                () -> {
+                    if (claimed.compareAndSet(false, true)) {
+                        stopped.set(null);
+                    }
+                },
+                MoreExecutors.directExecutor());
+        return submitted;
+    }
+
+    private Result execute(ComputeModuleJob job, Context context) {
+        FunctionRunner<?, ?> runner = functions.get(job.queryType());
+        if (runner != null) {
+            Supplier<Result> run = () -> runner.run(context, job.query(), metrics.function(job.queryType()));
+            ResultCache cache = caches.get(job.queryType());
+            return cache != null ? cache.get(job.jobId(), job.query(), run) : run.get();
         } else {
             return new Failed(
                     job.jobId(),
                     new SafeRuntimeException(
                             "Requested function not found",
                             SafeArg.of("requested", job.queryType()),
-                            SafeArg.of("known", functions.keySet())));
+                            SafeArg.of(
+                                    "known",
+                                    Sets.union(
+                                            Sets.union(functions.keySet(), asyncFunctions.keySet()),
+                                            batchers.keySet()))));
         }
     }
 
-    private InputStream serializeException(Failed failed) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (PrintWriter pw =
-                new PrintWriter(new BufferedWriter(new OutputStreamWriter(baos, StandardCharsets.UTF_8)))) {
-            pw.println("JobId: " + failed.jobId());
-            failed.e().printStackTrace(pw);
-        } catch (Exception e) {
-            log.error("Failed to serialized exception", SafeArg.of("jobId", failed.jobId()), e);
-            String message = "Exception serializing exception for job, check logs: " + failed.jobId();
-            return new ByteArrayInputStream(message.getBytes(StandardCharsets.UTF_8));
-        }
-        return new ByteArrayInputStream(baos.toByteArray());
+    /*
+     * See ErrorPayloads for the format.
+     */
+    @VisibleForTesting
+    static ResultBody serializeException(Failed failed) {
+        return ErrorPayloads.render(failed);
+    }
+
+    private ComputeModule(ComputeModuleBuilder builder) {
+        // the default client reads its configuration from the environment, which warmup only runs may not have
+        this.client = Suppliers.memoize(() -> builder.client.orElseGet(() -> new ComputeModuleClient()));
+        this.executor = builder.executor;
+        this.functions = builder.functions;
+        this.asyncFunctions = builder.asyncFunctions;
+        this.options = builder.options;
+        this.unknownFunctionExecutor = new FunctionExecutor(executor, Integer.MAX_VALUE);
+        this.pollers = builder.pollers;
+        this.inFlight = new Semaphore(builder.maxInFlightJobs);
+        this.pollingStrategy = builder.pollingStrategy;
+        this.metricsRegistry = builder.metricsRegistry;
+        this.metrics = new ComputeModuleMetrics(builder.metricsRegistry);
+        this.prometheusPort = builder.prometheusPort;
+        this.timeout = builder.timeout;
+        this.slowJobThreshold = builder.slowJobThreshold;
+        this.subtaskPool = builder.parallelism.isPresent()
+                ? new ForkJoinPool(builder.parallelism.getAsInt())
+                : Parallelism.defaults().pool();
+        this.scheduler = Suppliers.memoize(() -> Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("compute-module-scheduler-%d")
+                .setDaemon(true)
+                .build()));
+        this.warmup = new Warmup(
+                builder.functions,
+                builder.asyncFunctions,
+                builder.batchFunctions,
+                builder.options,
+                builder.warmupQueries,
+                builder.warmupIterations);
+        this.functionExecutors = functionExecutors(builder, executor, metrics);
+        this.admission = new AdmissionController(builder.highWaterMark, builder.lowWaterMark);
+        metrics.admission(admission::isPaused, admission::heapUsage);
+        BufferPool heap = BufferPool.heap();
+        metrics.bufferPool("heap", heap::hits, heap::misses, heap::pooled);
+        BufferPool direct = BufferPool.direct();
+        metrics.bufferPool("direct", direct::hits, direct::misses, direct::pooled);
+        this.caches = new HashMap<>();
+        builder.options.forEach((name, options) -> options.cache()
+                .ifPresent(cache -> caches.put(name, new ResultCache(cache, metrics.cache(name)))));
+        this.batchers = new HashMap<>();
+        builder.batchFunctions.forEach((name, runner) -> batchers.put(
+                name,
+                new Batcher(
+                        name,
+                        runner,
+                        builder.batchOptions.get(name),
+                        functionExecutors.get(name),
+                        scheduler.get(),
+                        metrics)));
     }
 
-    private ComputeModule(
-            Client client, ListeningExecutorService executor, Map<String, FunctionRunner<?, ?>> functions) {
-        this.client = client;
-        this.executor = executor;
-        this.functions = functions;
+    private static Map<String, FunctionExecutor> functionExecutors(
+            ComputeModuleBuilder builder, ListeningExecutorService shared, ComputeModuleMetrics metrics) {
+        Map<String, FunctionExecutor> functionExecutors = new HashMap<>();
+        Supplier<ExecutorService> virtualThreads =
+                Suppliers.memoize(() -> Executors.newVirtualThreadPerTaskExecutor());
+        Supplier<ExecutorService> forkJoinPool =
+                Suppliers.memoize(() -> new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+        Set<String> names = Sets.union(
+                Sets.union(builder.functions.keySet(), builder.asyncFunctions.keySet()),
+                builder.batchFunctions.keySet());
+        names.forEach(name -> {
+            FunctionOptions options = builder.options.getOrDefault(name, FunctionOptions.defaults());
+            Executor delegate =
+                    switch (options.executionMode()) {
+                        case SHARED -> shared;
+                        case VIRTUAL_THREAD -> virtualThreads.get();
+                        case PLATFORM_POOL -> Executors.newFixedThreadPool(
+                                options.isBounded()
+                                        ? options.maxConcurrency()
+                                        : Runtime.getRuntime().availableProcessors(),
+                                new ThreadFactoryBuilder()
+                                        .setNameFormat("compute-module-" + name + "-%d")
+                                        .setDaemon(true)
+                                        .build());
+                        case FORK_JOIN_POOL -> forkJoinPool.get();
+                    };
+            FunctionExecutor functionExecutor = new FunctionExecutor(delegate, options.maxConcurrency());
+            functionExecutors.put(name, functionExecutor);
+            metrics.functionQueue(name, functionExecutor::queued);
+        });
+        return functionExecutors;
     }
 
     public static final class ComputeModuleBuilder {
         private final Map<String, FunctionRunner<?, ?>> functions;
+        private final Map<String, FunctionOptions> options = new HashMap<>();
+        private final Map<String, AsyncFunctionRunner<?, ?>> asyncFunctions = new HashMap<>();
+        private final Map<String, BatchRunner<?, ?>> batchFunctions = new HashMap<>();
+        private final Map<String, BatchOptions> batchOptions = new HashMap<>();
         private Optional<Client> client =
                 Optional.empty(); // ComputeModuleClient construction is deferred due to env vars
         private ListeningExecutorService executor =
                 MoreExecutors.listeningDecorator(Executors.newVirtualThreadPerTaskExecutor());
+        private int pollers = 1;
+        private int maxInFlightJobs = Integer.MAX_VALUE;
+        private PollingStrategy pollingStrategy = PollingStrategy.exponential();
+        private MetricsRegistry metricsRegistry = new DefaultMetricsRegistry();
+        private OptionalInt prometheusPort = OptionalInt.empty();
+        private final Map<String, List<String>> warmupQueries = new LinkedHashMap<>();
+        private int warmupIterations = 10;
+        private Optional<Duration> timeout = Optional.empty();
+        private OptionalInt parallelism = OptionalInt.empty();
+        private Optional<Duration> slowJobThreshold = Optional.empty();
+        private double highWaterMark = 1;
+        private double lowWaterMark = 1;
 
         private ComputeModuleBuilder() {
             functions = new HashMap<>();
@@ -147,6 +578,26 @@ public final class ComputeModule {
             return this;
         }
 
+        /*
+         * Adds a Function that is executed according to the provided options, see FunctionOptions.
+         */
+        public <I, O> ComputeModuleBuilder add(
+                Function<I, O> function,
+                Class<I> inputType,
+                Class<O> outputType,
+                String name,
+                FunctionOptions functionOptions) {
+            return add(
+                    new FunctionRunner<>(
+                            function,
+                            inputType,
+                            outputType,
+                            new DefaultDeserializer<I>(),
+                            new DefaultSerializer<O>(functionOptions.outputCodec())),
+                    name,
+                    functionOptions);
+        }
+
         /*
          * Adds a FunctionRunner to be callable via name. Use this if you want to override the default serializer or
          * deserializer for this function. Will be callable via the provided name.
@@ -156,6 +607,95 @@ public final class ComputeModule {
             return this;
         }
 
+        /*
+         * Adds a FunctionRunner that is executed according to the provided options, see FunctionOptions.
+         */
+        public <I, O> ComputeModuleBuilder add(
+                FunctionRunner<I, O> runner, String name, FunctionOptions functionOptions) {
+            add(runner, name);
+            options.put(name, functionOptions);
+            return this;
+        }
+
+        /*
+         * Adds an AsyncFunction. The function is called on the module's executor but its result is posted once the
+         * returned stage completes, without a thread waiting on it. Will be callable via the provided name.
+         */
+        public <I, O> ComputeModuleBuilder addAsync(
+                AsyncFunction<I, O> function, Class<I> inputType, Class<O> outputType, String name) {
+            return addAsync(function, inputType, outputType, name, FunctionOptions.defaults());
+        }
+
+        /*
+         * Adds an AsyncFunction that is executed according to the provided options. A maxConcurrency bounds the
+         * number of incomplete stages, and a timeout cancels the stage. Result caching is not supported for async
+         * functions.
+         */
+        public <I, O> ComputeModuleBuilder addAsync(
+                AsyncFunction<I, O> function,
+                Class<I> inputType,
+                Class<O> outputType,
+                String name,
+                FunctionOptions functionOptions) {
+            return addAsync(
+                    new AsyncFunctionRunner<>(
+                            function,
+                            inputType,
+                            outputType,
+                            new DefaultDeserializer<I>(),
+                            new DefaultSerializer<O>(functionOptions.outputCodec())),
+                    name,
+                    functionOptions);
+        }
+
+        /*
+         * Adds an AsyncFunctionRunner, use this to override the default serializer or deserializer.
+         */
+        public <I, O> ComputeModuleBuilder addAsync(
+                AsyncFunctionRunner<I, O> runner, String name, FunctionOptions functionOptions) {
+            Preconditions.checkArgument(
+                    functionOptions.cache().isEmpty(),
+                    "Async functions do not support caching",
+                    SafeArg.of("name", name));
+            asyncFunctions.put(name, runner);
+            options.put(name, functionOptions);
+            return this;
+        }
+
+        /*
+         * Adds a BatchFunction. Jobs for it are collected into batches as described by the BatchOptions, and the
+         * results fanned back out to each job. Will be callable via the provided name.
+         */
+        public <I, O> ComputeModuleBuilder addBatch(
+                BatchFunction<I, O> function,
+                Class<I> inputType,
+                Class<O> outputType,
+                String name,
+                BatchOptions newBatchOptions) {
+            return addBatch(
+                    new BatchRunner<>(
+                            function, inputType, outputType, new DefaultDeserializer<I>(), new DefaultSerializer<O>()),
+                    name,
+                    newBatchOptions,
+                    FunctionOptions.defaults());
+        }
+
+        /*
+         * Adds a BatchRunner, each batch is executed according to the provided FunctionOptions. Result caching is not
+         * supported for batch functions.
+         */
+        public <I, O> ComputeModuleBuilder addBatch(
+                BatchRunner<I, O> runner, String name, BatchOptions newBatchOptions, FunctionOptions functionOptions) {
+            Preconditions.checkArgument(
+                    functionOptions.cache().isEmpty(),
+                    "Batch functions do not support caching",
+                    SafeArg.of("name", name));
+            batchFunctions.put(name, runner);
+            batchOptions.put(name, newBatchOptions);
+            options.put(name, functionOptions);
+            return this;
+        }
+
         /*
          * Not required, if unused the default client will be provided. This is useful for unit testing.
          */
@@ -167,14 +707,152 @@ public final class ComputeModule {
         /*
          * Not required, if unused the default executor will use virtual threads. Each job is ran on it's own
          * thread spawned from this ExecutorService, results are posted in a callback scheduled on this executor.
+         * Functions added with an execution mode other than SHARED run on their own executor instead.
          */
         public ComputeModuleBuilder withExecutor(ExecutorService newExecutor) {
             this.executor = MoreExecutors.listeningDecorator(newExecutor);
             return this;
         }
 
+        /*
+         * Not required, defaults to a single poller. Each poller issues one blocking getJob request at a time, use more
+         * than one if job intake rather than execution is the bottleneck.
+         */
+        public ComputeModuleBuilder withPollers(int newPollers) {
+            Preconditions.checkArgument(newPollers > 0, "Pollers must be positive", SafeArg.of("pollers", newPollers));
+            this.pollers = newPollers;
+            return this;
+        }
+
+        /*
+         * Not required, if unused the number of in flight jobs is unbounded. A job is in flight from the moment it is
+         * received until its result has been posted and its function has returned, so a timed out job that ignores
+         * interruption keeps its slot. Batch jobs are the exception, they leave their slot on timeout while their batch
+         * carries on. Polling pauses while the limit is reached.
+         */
+        public ComputeModuleBuilder withMaxInFlightJobs(int newMaxInFlightJobs) {
+            Preconditions.checkArgument(
+                    newMaxInFlightJobs > 0,
+                    "Max in flight jobs must be positive",
+                    SafeArg.of("maxInFlightJobs", newMaxInFlightJobs));
+            this.maxInFlightJobs = newMaxInFlightJobs;
+            return this;
+        }
+
+        /*
+         * Not required, if unused pollers back off exponentially with jitter while idle or failing.
+         */
+        public ComputeModuleBuilder withPollingStrategy(PollingStrategy newPollingStrategy) {
+            this.pollingStrategy = newPollingStrategy;
+            return this;
+        }
+
+        /*
+         * Not required, if unused metrics are recorded to an in memory DefaultMetricsRegistry.
+         */
+        public ComputeModuleBuilder withMetricsRegistry(MetricsRegistry newMetricsRegistry) {
+            this.metricsRegistry = newMetricsRegistry;
+            return this;
+        }
+
+        /*
+         * Not required, serves metrics in the Prometheus text format at :port/metrics once the module is started.
+         * Requires the DefaultMetricsRegistry.
+         */
+        public ComputeModuleBuilder withPrometheusEndpoint(int port) {
+            this.prometheusPort = OptionalInt.of(port);
+            return this;
+        }
+
+        /*
+         * Not required, if unused jobs run until they complete. Applies to every function that does not set its own
+         * timeout in its FunctionOptions, see FunctionOptions.Builder.withTimeout.
+         */
+        public ComputeModuleBuilder withTimeout(Duration newTimeout) {
+            Preconditions.checkArgument(
+                    newTimeout.compareTo(Duration.ZERO) > 0,
+                    "Timeout must be positive",
+                    SafeArg.of("timeout", newTimeout));
+            this.timeout = Optional.of(newTimeout);
+            return this;
+        }
+
+        /*
+         * Not required, if unused slow jobs are not logged. Jobs whose result takes longer than the threshold to be
+         * ready, counting from when they were received, are logged at warn.
+         */
+        public ComputeModuleBuilder withSlowJobThreshold(Duration newSlowJobThreshold) {
+            Preconditions.checkArgument(
+                    newSlowJobThreshold.compareTo(Duration.ZERO) > 0,
+                    "Slow job threshold must be positive",
+                    SafeArg.of("slowJobThreshold", newSlowJobThreshold));
+            this.slowJobThreshold = Optional.of(newSlowJobThreshold);
+            return this;
+        }
+
+        /*
+         * Not required, if unused admission control is off. Polling pauses while the heap in use after a garbage
+         * collection is at or above highWaterMark of the maximum heap size, and resumes once it is back down to
+         * lowWaterMark, see AdmissionController. Jobs are still admitted while none are in flight, so water marks
+         * below the heap the module retains when idle throttle it to polling only while idle. 0.9 and 0.75 suit most
+         * modules, a highWaterMark of 1 disables admission control.
+         */
+        public ComputeModuleBuilder withAdmissionControl(double newHighWaterMark, double newLowWaterMark) {
+            Preconditions.checkArgument(
+                    newLowWaterMark > 0 && newLowWaterMark <= newHighWaterMark && newHighWaterMark <= 1,
+                    "Water marks must satisfy 0 < lowWaterMark <= highWaterMark <= 1",
+                    SafeArg.of("highWaterMark", newHighWaterMark),
+                    SafeArg.of("lowWaterMark", newLowWaterMark));
+            this.highWaterMark = newHighWaterMark;
+            this.lowWaterMark = newLowWaterMark;
+            return this;
+        }
+
+        /*
+         * Not required, if unused subtasks forked from jobs run on a pool sized to the number of cores. Caps the number
+         * of threads running subtasks across all jobs, see Context.openScope and FunctionOptions.withMaxParallelism.
+         */
+        public ComputeModuleBuilder withParallelism(int newParallelism) {
+            Preconditions.checkArgument(
+                    newParallelism > 0, "Parallelism must be positive", SafeArg.of("parallelism", newParallelism));
+            this.parallelism = OptionalInt.of(newParallelism);
+            return this;
+        }
+
+        /*
+         * Not required. Sample queries, as JSON, run through the named function before polling starts so the first
+         * real jobs do not pay for class loading, Jackson setup and JIT compilation. See Warmup.
+         */
+        public ComputeModuleBuilder withWarmup(String name, String... sampleQueries) {
+            warmupQueries.computeIfAbsent(name, ignored -> new ArrayList<>()).addAll(List.of(sampleQueries));
+            return this;
+        }
+
+        /*
+         * Not required, defaults to 10. How many times each warmup query is run.
+         */
+        public ComputeModuleBuilder withWarmupIterations(int newWarmupIterations) {
+            Preconditions.checkArgument(
+                    newWarmupIterations > 0,
+                    "Warmup iterations must be positive",
+                    SafeArg.of("warmupIterations", newWarmupIterations));
+            this.warmupIterations = newWarmupIterations;
+            return this;
+        }
+
         public ComputeModule build() {
-            return new ComputeModule(client.orElseGet(() -> new ComputeModuleClient()), executor, functions);
+            for (String name : warmupQueries.keySet()) {
+                Preconditions.checkArgument(
+                        functions.containsKey(name)
+                                || asyncFunctions.containsKey(name)
+                                || batchFunctions.containsKey(name),
+                        "Warmup queries given for a function that is not registered",
+                        SafeArg.of("function", name));
+            }
+            Preconditions.checkArgument(
+                    prometheusPort.isEmpty() || metricsRegistry instanceof DefaultMetricsRegistry,
+                    "The Prometheus endpoint requires the DefaultMetricsRegistry");
+            return new ComputeModule(this);
         }
     }
 }
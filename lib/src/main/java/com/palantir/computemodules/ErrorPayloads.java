@@ -0,0 +1,224 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.palantir.computemodules.functions.results.BufferPool;
+import com.palantir.computemodules.functions.results.Failed;
+import com.palantir.computemodules.functions.results.PooledBody;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Renders failed results as JSON:
+ *
+ *   {"jobId": ..., "type": ..., "message": ..., "causes": [{"type": ..., "message": ...}],
+ *    "fingerprint": ..., "trace": ["at ...", "Caused by: ...", "at ...", "... 12 more"]}
+ *
+ * The fingerprint identifies where the failure happened: the exception types, stack depths and stack frames of the
+ * cause chain, but not the messages. The fingerprint and trace only depend on that, so they are encoded once per
+ * fingerprint and reused by every later failure with the same fingerprint. Only the first failure per fingerprint is
+ * logged with its stack trace. Repeats are logged at debug, and counted and logged at info at most once every
+ * REPEAT_LOG_INTERVAL_MINUTES per fingerprint. Payloads are written into pooled buffers, handed back once they are
+ * posted.
+ */
+final class ErrorPayloads {
+    private static final SafeLogger log = SafeLoggerFactory.get(ErrorPayloads.class);
+    private static final JsonFactory json = new JsonFactory();
+    private static final int MAX_FRAMES = 32;
+    private static final int MAX_CAUSES = 8;
+    private static final int MAX_TRACES = 1024;
+    private static final long REPEAT_LOG_INTERVAL_MINUTES = 1;
+    // access ordered, so the fingerprint seen least recently is evicted first, guarded by itself
+    private static final Map<String, Trace> traces = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Trace> eldest) {
+            return size() > MAX_TRACES;
+        }
+    };
+
+    static ResultBody render(Failed failed) {
+        List<Throwable> chain = chain(failed.e());
+        String fingerprint = fingerprint(chain);
+        Trace trace;
+        synchronized (traces) {
+            trace = traces.get(fingerprint);
+        }
+        if (trace == null) {
+            log.warn(
+                    "Job failed",
+                    SafeArg.of("jobId", failed.jobId()),
+                    SafeArg.of("fingerprint", fingerprint),
+                    failed.e());
+            try {
+                trace = new Trace(trace(fingerprint, chain));
+            } catch (IOException e) {
+                return fallback(failed, e);
+            }
+            synchronized (traces) {
+                traces.put(fingerprint, trace);
+            }
+        } else {
+            log.debug(
+                    "Job failed with a previously logged failure",
+                    SafeArg.of("jobId", failed.jobId()),
+                    SafeArg.of("fingerprint", fingerprint),
+                    UnsafeArg.of("message", failed.e().getMessage()));
+            trace.repeated(failed.jobId(), fingerprint);
+        }
+
+        PooledBody.Output out = PooledBody.output(BufferPool.heap());
+        try (JsonGenerator generator = json.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartObject();
+            generator.writeStringField("jobId", failed.jobId());
+            generator.writeStringField("type", chain.get(0).getClass().getName());
+            generator.writeStringField("message", chain.get(0).getMessage());
+            generator.writeArrayFieldStart("causes");
+            for (Throwable cause : chain.subList(1, chain.size())) {
+                generator.writeStartObject();
+                generator.writeStringField("type", cause.getClass().getName());
+                generator.writeStringField("message", cause.getMessage());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            out.discard();
+            return fallback(failed, e);
+        }
+        out.write(trace.bytes(), 0, trace.bytes().length);
+        return out.toBody();
+    }
+
+    /*
+     * The cause chain, outermost first, up to MAX_CAUSES long and without cycles.
+     */
+    private static List<Throwable> chain(Throwable throwable) {
+        List<Throwable> chain = new ArrayList<>();
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = throwable;
+                current != null && chain.size() < MAX_CAUSES && seen.add(current);
+                current = current.getCause()) {
+            chain.add(current);
+        }
+        return chain;
+    }
+
+    private static String fingerprint(List<Throwable> chain) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Throwable throwable : chain) {
+            hasher.putString(throwable.getClass().getName(), StandardCharsets.UTF_8);
+            StackTraceElement[] frames = throwable.getStackTrace();
+            // the trace ends with the number of frames left out, which must match every failure sharing it
+            hasher.putInt(frames.length);
+            for (int i = 0; i < Math.min(frames.length, MAX_FRAMES); i++) {
+                hasher.putString(frames[i].getClassName(), StandardCharsets.UTF_8)
+                        .putString(frames[i].getMethodName(), StandardCharsets.UTF_8)
+                        .putInt(frames[i].getLineNumber());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /*
+     * Encodes the fingerprint and trace fields and the closing brace, ready to be appended after the other fields.
+     */
+    private static byte[] trace(String fingerprint, List<Throwable> chain) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = json.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("fingerprint", fingerprint);
+            generator.writeArrayFieldStart("trace");
+            for (int i = 0; i < chain.size(); i++) {
+                Throwable throwable = chain.get(i);
+                if (i > 0) {
+                    generator.writeString("Caused by: " + throwable.getClass().getName());
+                }
+                StackTraceElement[] frames = throwable.getStackTrace();
+                for (int j = 0; j < Math.min(frames.length, MAX_FRAMES); j++) {
+                    generator.writeString("at " + frames[j]);
+                }
+                if (frames.length > MAX_FRAMES) {
+                    generator.writeString("... " + (frames.length - MAX_FRAMES) + " more");
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        byte[] trace = out.toByteArray();
+        // the fields follow the ones already written, so the opening brace becomes a separator
+        trace[0] = ',';
+        return trace;
+    }
+
+    private static ResultBody fallback(Failed failed, Exception e) {
+        log.error("Failed to serialize exception", SafeArg.of("jobId", failed.jobId()), e);
+        String message = "Exception serializing exception for job, check logs: " + failed.jobId();
+        return ResultBody.of(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * The encoded fingerprint and trace, and the repeats of the failure not yet logged at info.
+     */
+    private static final class Trace {
+        private final byte[] bytes;
+        private final AtomicLong repeats = new AtomicLong();
+        private final AtomicLong lastLoggedNanos = new AtomicLong(System.nanoTime());
+
+        Trace(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        void repeated(String jobId, String fingerprint) {
+            repeats.incrementAndGet();
+            long now = System.nanoTime();
+            long last = lastLoggedNanos.get();
+            if (now - last >= TimeUnit.MINUTES.toNanos(REPEAT_LOG_INTERVAL_MINUTES)
+                    && lastLoggedNanos.compareAndSet(last, now)) {
+                log.info(
+                        "Previously logged job failure repeated",
+                        SafeArg.of("fingerprint", fingerprint),
+                        SafeArg.of("repeats", repeats.getAndSet(0)),
+                        SafeArg.of("intervalMinutes", REPEAT_LOG_INTERVAL_MINUTES),
+                        SafeArg.of("lastJobId", jobId));
+            }
+        }
+    }
+
+    private ErrorPayloads() {}
+}
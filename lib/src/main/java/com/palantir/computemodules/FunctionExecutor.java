@@ -0,0 +1,150 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import com.google.common.util.concurrent.ExecutionList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Runs a single function's jobs on its executor, at most maxConcurrency at a time. Jobs beyond that wait in this
+ * function's queue rather than occupying threads of the underlying executor, which may be shared with other functions.
+ * Cancelling a returned future interrupts the job if it is running, and drops it without running it if it is queued.
+ *
+ * Asynchronous jobs hold their slot until the future they return completes, not only while they are on a thread.
+ */
+final class FunctionExecutor {
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    FunctionExecutor(Executor delegate, int maxConcurrency) {
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    <T> ListenableFuture<T> submit(Callable<T> callable) {
+        Task<T> task = new Task<>(callable);
+        queue.add(task);
+        drain();
+        return task;
+    }
+
+    <T> ListenableFuture<T> submitAsync(Callable<ListenableFuture<T>> callable) {
+        Task<ListenableFuture<T>> task = new AsyncTask<>(callable);
+        queue.add(task);
+        drain();
+        return Futures.transformAsync(task, started -> started, MoreExecutors.directExecutor());
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    /*
+     * Jobs are queued before the running count is checked and the count is decremented before draining again, so a
+     * job queued while the last running job completes is always picked up by one side or the other.
+     */
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = running.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Task<?> task = queue.poll();
+            if (task == null || task.isDone()) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        task.release(() -> {
+                            running.decrementAndGet();
+                            drain();
+                        });
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                task.reject(e);
+            }
+        }
+    }
+
+    private static class Task<T> extends FutureTask<T> implements ListenableFuture<T> {
+        private final ExecutionList listeners = new ExecutionList();
+
+        Task(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void addListener(Runnable listener, Executor executor) {
+            listeners.add(listener, executor);
+        }
+
+        @Override
+        protected void done() {
+            listeners.execute();
+        }
+
+        void reject(Throwable throwable) {
+            setException(throwable);
+        }
+
+        void release(Runnable release) {
+            release.run();
+        }
+    }
+
+    private static final class AsyncTask<T> extends Task<ListenableFuture<T>> {
+        AsyncTask(Callable<ListenableFuture<T>> callable) {
+            super(callable);
+        }
+
+        @Override
+        void release(Runnable release) {
+            ListenableFuture<T> started;
+            try {
+                started = isCancelled() ? null : get();
+            } catch (ExecutionException | InterruptedException e) {
+                started = null;
+            }
+            if (started == null) {
+                release.run();
+            } else {
+                started.addListener(release, MoreExecutors.directExecutor());
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.computemodules.client.ComputeModuleJob;
+import com.palantir.computemodules.client.TaggedJobDeserializer;
+import com.palantir.computemodules.functions.AsyncFunctionRunner;
+import com.palantir.computemodules.functions.BatchRunner;
+import com.palantir.computemodules.functions.Context;
+import com.palantir.computemodules.functions.FunctionOptions;
+import com.palantir.computemodules.functions.FunctionRunner;
+import com.palantir.computemodules.functions.results.Failed;
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.metrics.FunctionMetrics;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Runs sample queries through the same path real jobs take: envelope decoding, the function's deserializer, the
+ * function itself, its serializer and compression. The classes involved are loaded, Jackson builds its per-type
+ * serializers and deserializers, and the hot methods get compiled before the first real job arrives.
+ *
+ * Functions are really executed, so warmup queries must be safe to run. Failures, including queries that do not
+ * decode or deserialize, are logged and otherwise ignored.
+ */
+final class Warmup {
+    private static final SafeLogger log = SafeLoggerFactory.get(Warmup.class);
+    private static final JsonFactory factory = new JsonFactory();
+
+    private final Map<String, FunctionRunner<?, ?>> functions;
+    private final Map<String, AsyncFunctionRunner<?, ?>> asyncFunctions;
+    private final Map<String, BatchRunner<?, ?>> batchFunctions;
+    private final Map<String, FunctionOptions> options;
+    private final Map<String, List<String>> queries;
+    private final int iterations;
+    private final TaggedJobDeserializer deserializer = new TaggedJobDeserializer();
+
+    Warmup(
+            Map<String, FunctionRunner<?, ?>> functions,
+            Map<String, AsyncFunctionRunner<?, ?>> asyncFunctions,
+            Map<String, BatchRunner<?, ?>> batchFunctions,
+            Map<String, FunctionOptions> options,
+            Map<String, List<String>> queries,
+            int iterations) {
+        this.functions = functions;
+        this.asyncFunctions = asyncFunctions;
+        this.batchFunctions = batchFunctions;
+        this.options = options;
+        this.queries = queries;
+        this.iterations = iterations;
+    }
+
+    void run() {
+        if (queries.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int failures = 0;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (Map.Entry<String, List<String>> entry : queries.entrySet()) {
+                failures += run(entry.getKey(), entry.getValue(), iteration);
+            }
+        }
+        log.info(
+                "Warmup complete",
+                SafeArg.of("iterations", iterations),
+                SafeArg.of("failures", failures),
+                SafeArg.of("durationMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    /*
+     * Runs one iteration of a function's queries, returning how many failed. Failures are only logged on the first
+     * iteration, later ones would repeat them.
+     */
+    private int run(String name, List<String> sampleQueries, int iteration) {
+        boolean logFailure = iteration == 0;
+        int failures = 0;
+        List<ComputeModuleJob> jobs = new ArrayList<>(sampleQueries.size());
+        for (String query : sampleQueries) {
+            try {
+                jobs.add(job(name, query, iteration));
+            } catch (RuntimeException e) {
+                failed(name, e, logFailure);
+                failures++;
+            }
+        }
+        BatchRunner<?, ?> batch = batchFunctions.get(name);
+        if (batch != null) {
+            try {
+                for (Result result : execute(batch, jobs)) {
+                    failures += complete(name, result, logFailure) ? 0 : 1;
+                }
+            } catch (RuntimeException e) {
+                failed(name, e, logFailure);
+                failures += jobs.size();
+            }
+            return failures;
+        }
+        for (ComputeModuleJob job : jobs) {
+            try {
+                failures += complete(name, execute(name, job), logFailure) ? 0 : 1;
+            } catch (RuntimeException e) {
+                failed(name, e, logFailure);
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private ComputeModuleJob job(String queryType, String query, int iteration) {
+        String jobId = "warmup-" + iteration;
+        return deserializer
+                .deserialize(envelope(jobId, queryType, query))
+                .orElseGet(() -> new ComputeModuleJob(jobId, queryType, query));
+    }
+
+    /*
+     * The sample query is already JSON and is written as is, the function name is escaped like any other string.
+     */
+    private static byte[] envelope(String jobId, String queryType, String query) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("jobId", jobId);
+            generator.writeStringField("queryType", queryType);
+            generator.writeFieldName("query");
+            generator.writeRawValue(query);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private Result execute(String name, ComputeModuleJob job) {
+        FunctionRunner<?, ?> runner = functions.get(name);
+        if (runner != null) {
+            return runner.run(new Context(job.jobId()), job.query(), FunctionMetrics.noop());
+        }
+        return Futures.getUnchecked(asyncFunctions.get(name).run(new Context(job.jobId()), job.query()));
+    }
+
+    private static List<Result> execute(BatchRunner<?, ?> batch, List<ComputeModuleJob> jobs) {
+        List<Context> contexts = new ArrayList<>(jobs.size());
+        List<Object> inputs = new ArrayList<>(jobs.size());
+        for (ComputeModuleJob job : jobs) {
+            contexts.add(new Context(job.jobId()));
+            inputs.add(job.query());
+        }
+        return batch.run(contexts, inputs, false, FunctionMetrics.noop());
+    }
+
+    private boolean complete(String name, Result result, boolean logFailure) {
+        Optional<Exception> failure = failure(name, result);
+        if (failure.isEmpty()) {
+            return true;
+        }
+        failed(name, failure.get(), logFailure);
+        return false;
+    }
+
+    private static void failed(String name, Exception failure, boolean logFailure) {
+        if (logFailure) {
+            log.warn("Warmup query failed", SafeArg.of("function", name), failure);
+        }
+    }
+
+    private Optional<Exception> failure(String name, Result result) {
+        return switch (result) {
+            case Ok ok -> {
+                ResultBody body = options.getOrDefault(name, FunctionOptions.defaults())
+                        .compression()
+                        .apply(ok.body());
+                try {
+                    body.writeTo(OutputStream.nullOutputStream());
+                    yield Optional.empty();
+                } catch (IOException | RuntimeException e) {
+                    yield Optional.of(e);
+                } finally {
+                    body.release();
+                }
+            }
+            case Failed failed -> Optional.of(failed.e());
+        };
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.cache;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+import java.util.Optional;
+
+/*
+ * Bounds for a function's ResultCache. The budget counts the bytes of cached results and their keys.
+ */
+public final class CacheOptions {
+
+    private final long maxBytes;
+    private final Optional<Duration> ttl;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public Optional<Duration> ttl() {
+        return ttl;
+    }
+
+    private CacheOptions(long maxBytes, Optional<Duration> ttl) {
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+    }
+
+    public static final class Builder {
+        private long maxBytes = 64L * 1024 * 1024;
+        private Optional<Duration> ttl = Optional.empty();
+
+        private Builder() {}
+
+        /*
+         * Not required, defaults to 64MiB. Least recently used results are evicted once the budget is exceeded, results
+         * larger than the whole budget are not cached at all.
+         */
+        public Builder withMaxBytes(long newMaxBytes) {
+            Preconditions.checkArgument(
+                    newMaxBytes > 0, "Max bytes must be positive", SafeArg.of("maxBytes", newMaxBytes));
+            this.maxBytes = newMaxBytes;
+            return this;
+        }
+
+        /*
+         * Not required, if unused results stay cached until evicted.
+         */
+        public Builder withTtl(Duration newTtl) {
+            Preconditions.checkArgument(
+                    !newTtl.isNegative() && !newTtl.isZero(), "TTL must be positive", SafeArg.of("ttl", newTtl));
+            this.ttl = Optional.of(newTtl);
+            return this;
+        }
+
+        public CacheOptions build() {
+            return new CacheOptions(maxBytes, ttl);
+        }
+    }
+}
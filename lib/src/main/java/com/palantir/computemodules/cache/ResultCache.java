@@ -0,0 +1,227 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.cache;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.computemodules.functions.results.Failed;
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.results.TypedBody;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import com.palantir.computemodules.metrics.CacheMetrics;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/*
+ * Caches a single function's serialized results, keyed on the canonical form of the query: the query parsed and written
+ * back out with object keys sorted, so queries differing only in whitespace or key order share an entry. Numbers are
+ * parsed without loss of precision, so queries differing in any digit never share an entry.
+ *
+ * Only results that fit in the byte budget are cached. Results over it are passed through without being read in full:
+ * bodies of known length are checked upfront, repeatable bodies of unknown length are read up to the budget and opened
+ * again to be posted if they exceed it, and bodies that can only be read once, such as sequences, are not read at all.
+ *
+ * Identical queries that miss while one is already executing wait for that execution rather than starting their own.
+ * The cached bytes are shared, every job gets its own body over them to post under its own jobId. Failed and uncached
+ * results are never shared, waiting jobs run the function themselves if the execution they waited on failed or its
+ * result was not cached. Waiting jobs that are interrupted, because they timed out or were cancelled, fail without
+ * running it.
+ */
+public final class ResultCache {
+    private static final SafeLogger log = SafeLoggerFactory.get(ResultCache.class);
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, true)
+            .configure(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS, true);
+
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final CacheMetrics metrics;
+    private final Map<ByteBuffer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<ByteBuffer, SettableFuture<Optional<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private long bytes = 0;
+    // a function's results all come from the same serializer, so they share the content type of the last one loaded
+    private volatile Optional<String> contentType = Optional.empty();
+
+    public ResultCache(CacheOptions options, CacheMetrics metrics) {
+        this.maxBytes = options.maxBytes();
+        this.ttlNanos = options.ttl().map(Duration::toNanos).orElse(Long.MAX_VALUE);
+        this.metrics = metrics;
+    }
+
+    /*
+     * Returns the cached result for the query if present, otherwise runs the loader. Queries that cannot be
+     * canonicalized bypass the cache.
+     */
+    public Result get(String jobId, Object query, Supplier<Result> loader) {
+        Optional<ByteBuffer> maybeKey = key(query);
+        if (maybeKey.isEmpty()) {
+            return loader.get();
+        }
+        ByteBuffer key = maybeKey.get();
+        Optional<byte[]> cached = getIfPresent(key);
+        if (cached.isPresent()) {
+            metrics.hits().inc();
+            return ok(jobId, cached.get());
+        }
+
+        SettableFuture<Optional<byte[]>> future = SettableFuture.create();
+        SettableFuture<Optional<byte[]>> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            metrics.coalesced().inc();
+            Optional<byte[]> shared;
+            try {
+                shared = await(existing);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Failed(jobId, e);
+            }
+            return shared.isPresent() ? ok(jobId, shared.get()) : loader.get();
+        }
+
+        metrics.misses().inc();
+        Optional<byte[]> loaded = Optional.empty();
+        try {
+            Result result = loader.get();
+            if (!(result instanceof Ok ok)) {
+                return result;
+            }
+            try {
+                loaded = read(key, ok.body());
+            } catch (IOException | RuntimeException e) {
+                ok.body().release();
+                return new Failed(jobId, e);
+            }
+            if (loaded.isEmpty()) {
+                return result;
+            }
+            ok.body().release();
+            contentType = ok.body().contentType();
+            put(key, loaded.get());
+            return ok(jobId, loaded.get());
+        } finally {
+            inFlight.remove(key, future);
+            future.set(loaded);
+        }
+    }
+
+    /*
+     * Empty if the body does not fit in the budget, or cannot be told to fit without consuming it.
+     */
+    private Optional<byte[]> read(ByteBuffer key, ResultBody body) throws IOException {
+        long limit = maxBytes - key.capacity();
+        OptionalLong length = body.contentLength();
+        if (limit < 0 || (length.isPresent() ? length.getAsLong() > limit : !body.isRepeatable())) {
+            return Optional.empty();
+        }
+        try (InputStream in = body.openStream()) {
+            byte[] bytes = in.readNBytes((int) Math.min(limit + 1, Integer.MAX_VALUE - 8));
+            return bytes.length > limit ? Optional.empty() : Optional.of(bytes);
+        }
+    }
+
+    private synchronized Optional<byte[]> getIfPresent(ByteBuffer key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.nanoTime() - entry.createdNanos() >= ttlNanos) {
+            remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.result());
+    }
+
+    private synchronized void put(ByteBuffer key, byte[] result) {
+        long size = key.capacity() + (long) result.length;
+        if (size > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(result, System.nanoTime()));
+        if (previous != null) {
+            bytes -= key.capacity() + (long) previous.result().length;
+        }
+        bytes += size;
+        Iterator<Map.Entry<ByteBuffer, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<ByteBuffer, Entry> evicted = eldest.next();
+            eldest.remove();
+            bytes -= evicted.getKey().capacity() + (long) evicted.getValue().result().length;
+            metrics.evictions().inc();
+        }
+    }
+
+    private void remove(ByteBuffer key, Entry entry) {
+        entries.remove(key);
+        bytes -= key.capacity() + (long) entry.result().length;
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /*
+     * Empty if the execution waited on failed.
+     */
+    private static Optional<byte[]> await(SettableFuture<Optional<byte[]>> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Ok ok(String jobId, byte[] result) {
+        ResultBody body = ResultBody.of(result);
+        return new Ok(jobId, contentType.<ResultBody>map(type -> new TypedBody(body, type)).orElse(body));
+    }
+
+    private static Optional<ByteBuffer> key(Object query) {
+        try {
+            Object tree;
+            if (query instanceof RawQuery raw) {
+                try (JsonParser parser = raw.createParser(mapper.getFactory())) {
+                    tree = mapper.readValue(parser, Object.class);
+                }
+            } else {
+                tree = mapper.convertValue(query, Object.class);
+            }
+            return Optional.of(ByteBuffer.wrap(mapper.writeValueAsBytes(tree)));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to canonicalize query, bypassing the cache", e);
+            return Optional.empty();
+        }
+    }
+
+    private record Entry(byte[] result, long createdNanos) {}
+}
@@ -0,0 +1,109 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Publishes the remaining bytes of the buffers, in order, as read only slices, so the HTTP client writes straight from
+ * the buffers instead of from heap copies. Each subscription starts from the buffers' positions at construction.
+ */
+final class ByteBufferPublisher implements Flow.Publisher<ByteBuffer> {
+    private static final int SLICE_SIZE = 64 * 1024;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final List<ByteBuffer> buffers;
+
+    ByteBufferPublisher(List<ByteBuffer> buffers) {
+        this.buffers = buffers.stream().map(ByteBuffer::asReadOnlyBuffer).toList();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        subscriber.onSubscribe(new Subscription(
+                subscriber, buffers.stream().map(ByteBuffer::duplicate).toList().iterator()));
+    }
+
+    private static final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final Iterator<ByteBuffer> buffers;
+        private ByteBuffer remaining = EMPTY;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger draining = new AtomicInteger();
+        private volatile boolean done = false;
+
+        private Subscription(Flow.Subscriber<? super ByteBuffer> subscriber, Iterator<ByteBuffer> buffers) {
+            this.subscriber = subscriber;
+            this.buffers = buffers;
+        }
+
+        @Override
+        public void request(long count) {
+            if (count <= 0) {
+                done = true;
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + count));
+                return;
+            }
+            demand.accumulateAndGet(count, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        /*
+         * Only one thread emits at a time. Requests made while emitting, including reentrant ones from onNext, are
+         * picked up by the emitting thread before it returns.
+         */
+        private void drain() {
+            if (draining.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!done && demand.get() > 0 && hasRemaining()) {
+                    int length = Math.min(SLICE_SIZE, remaining.remaining());
+                    ByteBuffer slice = remaining.slice().limit(length);
+                    remaining.position(remaining.position() + length);
+                    demand.decrementAndGet();
+                    subscriber.onNext(slice);
+                }
+                if (!done && !hasRemaining()) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+                missed = draining.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /*
+         * Only called by the emitting thread.
+         */
+        private boolean hasRemaining() {
+            while (!remaining.hasRemaining() && buffers.hasNext()) {
+                remaining = buffers.next();
+            }
+            return remaining.hasRemaining();
+        }
+    }
+}
@@ -15,12 +15,39 @@
  */
 package com.palantir.computemodules.client;
 
+import com.palantir.computemodules.functions.results.ResultBody;
 import java.io.InputStream;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface Client {
 
+    /*
+     * Returns the next job, or empty if none is available. Failures to reach the runtime are thrown so that the
+     * caller can back off.
+     */
     Optional<ComputeModuleJob> getJob();
 
     void postResult(String jobId, InputStream result);
+
+    /*
+     * Clients that can write bodies directly into the request should override this to avoid reading the body
+     * through a stream.
+     */
+    default void postResult(String jobId, ResultBody body) {
+        postResult(jobId, body.openStream());
+    }
+
+    /*
+     * Posts the result without waiting for the upload to complete where the client supports it. The returned future
+     * fails if the result could not be posted.
+     */
+    default CompletableFuture<Void> postResultAsync(String jobId, ResultBody body) {
+        try {
+            postResult(jobId, body);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
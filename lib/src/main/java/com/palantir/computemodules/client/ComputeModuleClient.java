@@ -15,72 +15,153 @@
  */
 package com.palantir.computemodules.client;
 
-import com.palantir.computemodules.client.config.EnvVars;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.serde.SerializationException;
 import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.BodyPublishers;
-import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public final class ComputeModuleClient implements Client {
     private static final SafeLogger log = SafeLoggerFactory.get(ComputeModuleClient.class);
+    private static final int MAX_OUTSTANDING_UPLOADS = 64;
+    private static final int MAX_UPLOAD_ATTEMPTS = 4;
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 250;
 
-    private final HttpClient client;
-    private final HttpRequest getRequest;
-    private final HttpRequest.Builder postRequest;
+    private final Transport transport;
     private final TaggedJobDeserializer deserializer = new TaggedJobDeserializer();
+    private final Semaphore uploads = new Semaphore(MAX_OUTSTANDING_UPLOADS);
 
+    /*
+     * Talks HTTP to the runtime as configured by the environment, see HttpTransport.fromEnvironment.
+     */
     public ComputeModuleClient() {
-        String moduleAuthToken = EnvVars.Reserved.MODULE_AUTH_TOKEN.get();
-        this.getRequest = HttpRequest.newBuilder()
-                .uri(URI.create("http://127.0.0.1:8946/job"))
-                .header("Module-Auth-Token", moduleAuthToken)
-                .build();
-        this.postRequest = HttpRequest.newBuilder()
-                .header("Module-Auth-Token", moduleAuthToken)
-                .header("Content-Type", "application/octet-stream");
-        this.client = HttpClient.newBuilder().build();
+        this(HttpTransport.fromEnvironment());
+    }
+
+    /*
+     * Talks HTTP to a runtime at the provided endpoints, results are posted to resultsUri/{jobId}.
+     */
+    public ComputeModuleClient(URI jobUri, URI resultsUri, String moduleAuthToken) {
+        this(new HttpTransport(jobUri, resultsUri, moduleAuthToken));
+    }
+
+    public ComputeModuleClient(Transport transport) {
+        this.transport = transport;
     }
 
     @Override
     public Optional<ComputeModuleJob> getJob() {
+        Transport.Response response;
         try {
-            HttpResponse<String> response = client.send(getRequest, BodyHandlers.ofString());
-            if (response.statusCode() == 200) {
-                return deserializer.deserialize(response.body());
-            } else if (response.statusCode() == 204) {
-                return Optional.empty();
-            } else {
-                log.error("Failed to request job", SafeArg.of("response", response));
-                Thread.sleep(1000);
-            }
+            response = transport.getJob();
         } catch (IOException e) {
-            log.error("Connection error while requesting job", e);
-        } catch (Exception e) {
-            log.error("Failed to request job", e);
+            throw new SafeRuntimeException("Connection error while requesting job", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SafeRuntimeException("Interrupted while requesting job", e);
         }
 
-        return Optional.empty();
+        if (response.statusCode() == 200) {
+            return deserializer.deserialize(response.body());
+        } else if (response.statusCode() == 204) {
+            return Optional.empty();
+        } else {
+            throw new SafeRuntimeException("Failed to request job", SafeArg.of("statusCode", response.statusCode()));
+        }
     }
 
     @Override
     public void postResult(String jobId, InputStream result) {
-        HttpRequest request = postRequest
-                .copy()
-                .uri(URI.create("http://127.0.0.1:8946/results" + "/" + jobId))
-                .POST(BodyPublishers.ofInputStream(() -> result))
-                .build();
+        postResult(jobId, ResultBody.of(result));
+    }
+
+    @Override
+    public void postResult(String jobId, ResultBody body) {
         try {
-            client.send(request, BodyHandlers.ofString());
-        } catch (Exception e) {
+            postResultAsync(jobId, body).join();
+        } catch (RuntimeException e) {
             log.error("Failed to post result", SafeArg.of("jobId", jobId), e);
         }
     }
+
+    /*
+     * Uploads without blocking on the upload itself. At most MAX_OUTSTANDING_UPLOADS uploads are in progress at once,
+     * beyond that callers block until one completes. Connection errors and retryable statuses are retried with
+     * backoff, as long as the body can be replayed. Bodies failing with a SerializationException are not retried.
+     */
+    @Override
+    public CompletableFuture<Void> postResultAsync(String jobId, ResultBody body) {
+        uploads.acquireUninterruptibly();
+        try {
+            return attempt(jobId, body, 1).whenComplete((ignored, throwable) -> uploads.release());
+        } catch (RuntimeException e) {
+            uploads.release();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> attempt(String jobId, ResultBody body, int attempt) {
+        return transport
+                .postResult(jobId, body)
+                .handle((statusCode, throwable) -> {
+                    if (throwable == null && statusCode / 100 == 2) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    Throwable failure = throwable != null
+                            ? throwable
+                            : new SafeRuntimeException(
+                                    "Failed to post result",
+                                    SafeArg.of("jobId", jobId),
+                                    SafeArg.of("statusCode", statusCode));
+                    boolean retryable = throwable != null
+                            ? isRetryable(throwable)
+                            : isRetryable(statusCode);
+                    if (!retryable || !body.isRepeatable() || attempt >= MAX_UPLOAD_ATTEMPTS) {
+                        return CompletableFuture.<Void>failedFuture(failure);
+                    }
+                    long delayMillis = retryDelayMillis(attempt);
+                    log.info(
+                            "Retrying result upload",
+                            SafeArg.of("jobId", jobId),
+                            SafeArg.of("attempt", attempt),
+                            SafeArg.of("delayMillis", delayMillis),
+                            failure);
+                    return CompletableFuture.supplyAsync(
+                                    () -> attempt(jobId, body, attempt + 1),
+                                    CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS))
+                            .thenCompose(Function.identity());
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /*
+     * Bodies whose output could not be serialized would fail the same way again.
+     */
+    private static boolean isRetryable(Throwable throwable) {
+        if (SerializationException.in(throwable).isPresent()) {
+            return false;
+        }
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        return cause instanceof IOException;
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+
+    private static long retryDelayMillis(int attempt) {
+        long delayMillis = INITIAL_RETRY_DELAY_MILLIS << (attempt - 1);
+        return delayMillis / 2 + ThreadLocalRandom.current().nextLong(delayMillis / 2 + 1);
+    }
 }
@@ -15,4 +15,7 @@
  */
 package com.palantir.computemodules.client;
 
+/*
+ * The query is a RawQuery for jobs received from the runtime, or the submitted object for jobs from the TestClient.
+ */
 public record ComputeModuleJob(String jobId, String queryType, Object query) {}
@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import com.palantir.computemodules.client.config.EnvVars;
+import com.palantir.computemodules.functions.results.ByteArrayBody;
+import com.palantir.computemodules.functions.results.ByteBufferBody;
+import com.palantir.computemodules.functions.results.FileBody;
+import com.palantir.computemodules.functions.results.PooledBody;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.results.TypedBody;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+/*
+ * Talks HTTP/1.1 to the runtime through the JDK HttpClient, which keeps connections alive and reuses them across
+ * requests. https endpoints trust the certificates in the CA file if one is given, the JDK's trust store otherwise.
+ */
+public final class HttpTransport implements Transport {
+    private static final URI DEFAULT_JOB_URI = URI.create("http://127.0.0.1:8946/job");
+    private static final URI DEFAULT_RESULTS_URI = URI.create("http://127.0.0.1:8946/results");
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final HttpClient client;
+    private final HttpRequest getRequest;
+    private final String resultsUri;
+    private final HttpRequest.Builder postRequest;
+
+    /*
+     * Uses the GET_JOB_URI, POST_RESULT_URI and DEFAULT_CA_PATH environment variables where set, falling back to the
+     * runtime's loopback address. MODULE_AUTH_TOKEN is required.
+     */
+    public static HttpTransport fromEnvironment() {
+        return new HttpTransport(
+                EnvVars.Reserved.GET_JOB_URI.find().map(URI::create).orElse(DEFAULT_JOB_URI),
+                EnvVars.Reserved.POST_RESULT_URI.find().map(URI::create).orElse(DEFAULT_RESULTS_URI),
+                EnvVars.Reserved.MODULE_AUTH_TOKEN.get(),
+                EnvVars.Reserved.DEFAULT_CA_PATH.find().map(Path::of));
+    }
+
+    public HttpTransport(URI jobUri, URI resultsUri, String moduleAuthToken) {
+        this(jobUri, resultsUri, moduleAuthToken, Optional.empty());
+    }
+
+    /*
+     * Results are posted to resultsUri/{jobId}.
+     */
+    public HttpTransport(URI jobUri, URI resultsUri, String moduleAuthToken, Optional<Path> caPath) {
+        this.resultsUri = resultsUri.toString();
+        this.getRequest = HttpRequest.newBuilder()
+                .uri(jobUri)
+                .header("Module-Auth-Token", moduleAuthToken)
+                .build();
+        this.postRequest = HttpRequest.newBuilder()
+                .header("Module-Auth-Token", moduleAuthToken);
+        // without a version the client attempts an h2c upgrade on every new cleartext connection
+        HttpClient.Builder builder = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1);
+        caPath.ifPresent(path -> builder.sslContext(sslContext(path)));
+        this.client = builder.build();
+    }
+
+    @Override
+    public Response getJob() throws IOException, InterruptedException {
+        HttpResponse<ByteBuffer> response = client.send(getRequest, JobBodies.handler());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    /*
+     * Pooled bodies are published straight from their buffers, which are leased until the exchange completes so that
+     * they cannot go back to the pool while the client may still be writing them.
+     */
+    @Override
+    public CompletableFuture<Integer> postResult(String jobId, ResultBody body) {
+        HttpRequest.Builder request = postRequest.copy().uri(URI.create(resultsUri + "/" + jobId));
+        request.header("Content-Type", body.contentType().orElse(DEFAULT_CONTENT_TYPE));
+        body.contentEncoding().ifPresent(encoding -> request.header("Content-Encoding", encoding.headerValue()));
+        Optional<PooledBody.Lease> lease = pooled(body).map(PooledBody::lease);
+        try {
+            request.POST(publisher(body));
+        } catch (IOException e) {
+            lease.ifPresent(PooledBody.Lease::close);
+            return CompletableFuture.failedFuture(e);
+        }
+        return client.sendAsync(request.build(), BodyHandlers.discarding())
+                .whenComplete((response, throwable) -> lease.ifPresent(PooledBody.Lease::close))
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    /*
+     * Bodies of known length are posted with a Content-Length, in memory and file bodies without copying them first.
+     */
+    private static BodyPublisher publisher(ResultBody body) throws IOException {
+        return switch (body) {
+            case ByteArrayBody bytes -> BodyPublishers.ofByteArray(bytes.bytes());
+            case FileBody file -> BodyPublishers.ofFile(file.path());
+            case ByteBufferBody buffer -> BodyPublishers.fromPublisher(
+                    new ByteBufferPublisher(List.of(buffer.buffer())), buffer.buffer().remaining());
+            case PooledBody pooled -> BodyPublishers.fromPublisher(
+                    new ByteBufferPublisher(pooled.buffers()),
+                    pooled.contentLength().getAsLong());
+            case TypedBody typed -> publisher(typed.delegate());
+            default -> body.contentLength().isPresent()
+                    ? BodyPublishers.fromPublisher(
+                            BodyPublishers.ofInputStream(body::openStream),
+                            body.contentLength().getAsLong())
+                    : BodyPublishers.ofInputStream(body::openStream);
+        };
+    }
+
+    private static Optional<PooledBody> pooled(ResultBody body) {
+        return switch (body) {
+            case PooledBody pooled -> Optional.of(pooled);
+            case TypedBody typed -> pooled(typed.delegate());
+            default -> Optional.empty();
+        };
+    }
+
+    private static SSLContext sslContext(Path caPath) {
+        try (InputStream certificates = Files.newInputStream(caPath)) {
+            KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            trustStore.load(null, null);
+            int index = 0;
+            for (Certificate certificate : CertificateFactory.getInstance("X.509").generateCertificates(certificates)) {
+                trustStore.setCertificateEntry("ca-" + index++, certificate);
+            }
+            TrustManagerFactory trustManagers =
+                    TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagers.init(trustStore);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, trustManagers.getTrustManagers(), null);
+            return context;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new SafeRuntimeException("Failed to load CA certificates", e, SafeArg.of("caPath", caPath));
+        }
+    }
+}
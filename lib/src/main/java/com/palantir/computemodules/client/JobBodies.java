@@ -0,0 +1,163 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeUncheckedIoException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/*
+ * Job bodies larger than the spill threshold are written to a temporary file and memory mapped rather than held on the
+ * heap, the file is deleted as soon as it is mapped or the body fails. The threshold defaults to 64 MiB and can be
+ * changed with the computemodules.spillThresholdBytes system property. Mapped bodies are limited to 2 GiB.
+ */
+final class JobBodies {
+    static final String SPILL_THRESHOLD_PROPERTY = "computemodules.spillThresholdBytes";
+    private static final long DEFAULT_SPILL_THRESHOLD = 64 * 1024 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    static boolean shouldSpill(long contentLength) {
+        return contentLength > Long.getLong(SPILL_THRESHOLD_PROPERTY, DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /*
+     * Spills bodies whose Content-Length is over the threshold, bodies of unknown length are kept in memory.
+     */
+    static HttpResponse.BodyHandler<ByteBuffer> handler() {
+        return info -> {
+            OptionalLong length = info.headers().firstValueAsLong("Content-Length");
+            if (length.isPresent() && shouldSpill(length.getAsLong())) {
+                Path path = createSpillFile();
+                return new SpillingSubscriber(
+                        BodySubscribers.mapping(BodySubscribers.ofFile(path), JobBodies::map), path);
+            }
+            return BodySubscribers.mapping(BodySubscribers.ofByteArray(), ByteBuffer::wrap);
+        };
+    }
+
+    /*
+     * Spills a body of the given length, starting with the bytes already buffered and reading the rest from the
+     * channel.
+     */
+    static ByteBuffer spill(ByteBuffer buffered, ReadableByteChannel channel, long length) throws IOException {
+        Path path = createSpillFile();
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer prefix = buffered.slice(buffered.position(), (int) Math.min(length, buffered.remaining()));
+            buffered.position(buffered.position() + prefix.remaining());
+            long written = file.write(prefix);
+            ByteBuffer copy = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+            while (written < length) {
+                copy.clear().limit((int) Math.min(COPY_BUFFER_SIZE, length - written));
+                if (channel.read(copy) < 0) {
+                    throw new EOFException("Connection closed before the job body was read");
+                }
+                copy.flip();
+                while (copy.hasRemaining()) {
+                    written += file.write(copy);
+                }
+            }
+            return file.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        } finally {
+            delete(path);
+        }
+    }
+
+    private static ByteBuffer map(Path path) {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            return file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+        } catch (IOException e) {
+            throw new SafeUncheckedIoException("Failed to map spilled job body", e, SafeArg.of("path", path));
+        } finally {
+            delete(path);
+        }
+    }
+
+    private static Path createSpillFile() {
+        try {
+            return Files.createTempFile("computemodule-job", ".json");
+        } catch (IOException e) {
+            throw new SafeUncheckedIoException("Failed to create a file to spill the job body to", e);
+        }
+    }
+
+    /*
+     * The mapping outlives the file on POSIX file systems, elsewhere the file is left for the JVM to delete on exit.
+     */
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    /*
+     * Deletes the spill file if the body fails before it is mapped, for example when the connection drops mid-body.
+     */
+    private static final class SpillingSubscriber implements HttpResponse.BodySubscriber<ByteBuffer> {
+        private final HttpResponse.BodySubscriber<ByteBuffer> delegate;
+        private final CompletionStage<ByteBuffer> body;
+
+        private SpillingSubscriber(HttpResponse.BodySubscriber<ByteBuffer> delegate, Path path) {
+            this.delegate = delegate;
+            this.body = delegate.getBody().whenComplete((buffer, failure) -> {
+                if (failure != null) {
+                    delete(path);
+                }
+            });
+        }
+
+        @Override
+        public CompletionStage<ByteBuffer> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+        }
+    }
+
+    private JobBodies() {}
+}
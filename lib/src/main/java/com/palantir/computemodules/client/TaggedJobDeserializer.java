@@ -15,26 +15,95 @@
  */
 package com.palantir.computemodules.client;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.palantir.computemodules.functions.serde.RawQuery;
 import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
+/*
+ * Reads the job envelope field by field. The query is not decoded here, it is kept as a RawQuery slice of the
+ * received bytes so that it can be bound once, straight into the input type of the function that handles it.
+ * Unknown fields are ignored.
+ */
 public final class TaggedJobDeserializer {
     private static final SafeLogger log = SafeLoggerFactory.get(TaggedJobDeserializer.class);
-    private static final ObjectMapper mapper = new ObjectMapper()
-            // ignore unknown fields
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final JsonFactory factory = new JsonFactory();
+    private static final int MAX_LOGGED_BYTES = 64 * 1024;
 
     public Optional<ComputeModuleJob> deserialize(String raw) {
+        return deserialize(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Optional<ComputeModuleJob> deserialize(byte[] raw) {
+        return deserialize(ByteBuffer.wrap(raw));
+    }
+
+    /*
+     * The remaining bytes of the buffer are the job, the query is a slice of them.
+     */
+    public Optional<ComputeModuleJob> deserialize(ByteBuffer raw) {
         try {
-            ComputeModuleJob job = mapper.readValue(raw, ComputeModuleJob.class);
-            return Optional.of(job);
+            return Optional.of(parse(raw));
         } catch (Exception e) {
-            log.error("Failed to deserialize job", SafeArg.of("raw", raw), e);
+            ByteBuffer logged = raw.slice(raw.position(), Math.min(raw.remaining(), MAX_LOGGED_BYTES));
+            log.error(
+                    "Failed to deserialize job",
+                    SafeArg.of("length", raw.remaining()),
+                    UnsafeArg.of("raw", StandardCharsets.UTF_8.decode(logged).toString()),
+                    e);
             return Optional.empty();
         }
     }
+
+    private static ComputeModuleJob parse(ByteBuffer raw) throws IOException {
+        String jobId = null;
+        String queryType = null;
+        RawQuery query = null;
+        try (JsonParser parser = createParser(raw)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SafeIllegalArgumentException("Job is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "jobId" -> jobId = parser.getValueAsString();
+                    case "queryType" -> queryType = parser.getValueAsString();
+                    case "query" -> {
+                        int start = Math.toIntExact(parser.currentTokenLocation().getByteOffset());
+                        if (value == JsonToken.VALUE_STRING) {
+                            // strings are decoded lazily, consume it so the current location is past its end
+                            parser.finishToken();
+                        } else {
+                            parser.skipChildren();
+                        }
+                        int end = Math.toIntExact(parser.currentLocation().getByteOffset());
+                        query = RawQuery.of(raw.slice(raw.position() + start, end - start));
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new ComputeModuleJob(jobId, queryType, query);
+    }
+
+    /*
+     * Byte offsets reported by the parser are relative to the start of the job either way.
+     */
+    private static JsonParser createParser(ByteBuffer raw) throws IOException {
+        if (raw.hasArray()) {
+            return factory.createParser(raw.array(), raw.arrayOffset() + raw.position(), raw.remaining());
+        }
+        return factory.createParser(new ByteBufferBackedInputStream(raw.duplicate()));
+    }
 }
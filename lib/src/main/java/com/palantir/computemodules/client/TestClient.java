@@ -15,8 +15,12 @@
  */
 package com.palantir.computemodules.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.serde.Codec;
+import com.palantir.computemodules.functions.serde.Codecs;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,7 +38,6 @@ import java.util.concurrent.LinkedBlockingQueue;
  */
 public final class TestClient implements Client {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
     private BlockingQueue<ComputeModuleJob> jobs = new LinkedBlockingQueue<>();
     private Map<String, BlockingQueue<InputStream>> results = new ConcurrentHashMap<>();
 
@@ -56,6 +59,22 @@ public final class TestClient implements Client {
         }
     }
 
+    /*
+     * Compressed results are decoded, result streams are always the plain output.
+     */
+    @Override
+    public void postResult(String jobId, ResultBody body) {
+        InputStream result = body.openStream();
+        if (body.contentEncoding().isPresent()) {
+            try {
+                result = body.contentEncoding().get().decode(result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        postResult(jobId, result);
+    }
+
     /*
      * Executes a test job and returns a result stream
      */
@@ -102,9 +121,16 @@ public final class TestClient implements Client {
      * jobId was already takend this may block forever.
      */
     public <O> O result(String jobId, Class<O> outputType) {
+        return result(jobId, outputType, Codecs.JSON);
+    }
+
+    /*
+     * Awaits the result for the provided jobId and decodes it with the codec the function's output was written with.
+     */
+    public <O> O result(String jobId, Class<O> outputType, Codec codec) {
         try {
-            return mapper.readValue(
-                    Optional.ofNullable(results.get(jobId)).orElseThrow().take(), outputType);
+            return codec.mapper()
+                    .readValue(Optional.ofNullable(results.get(jobId)).orElseThrow().take(), outputType);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,45 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import com.palantir.computemodules.functions.results.ResultBody;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Moves requests between a ComputeModuleClient and the runtime. The client takes care of deserializing jobs, retrying
+ * uploads and bounding how many are outstanding, a transport only exchanges requests and responses. See HttpTransport
+ * and UnixSocketTransport.
+ */
+public interface Transport {
+
+    /*
+     * Requests the next job. Failures to reach the runtime are thrown, any response is returned whatever its status.
+     */
+    Response getJob() throws IOException, InterruptedException;
+
+    /*
+     * Posts the body as the result of the job, completing with the response status code. Failures to reach the
+     * runtime complete the future exceptionally with the IOException.
+     */
+    CompletableFuture<Integer> postResult(String jobId, ResultBody body);
+
+    /*
+     * Large bodies may be a mapping of a file rather than heap memory, see JobBodies.
+     */
+    record Response(int statusCode, ByteBuffer body) {}
+}
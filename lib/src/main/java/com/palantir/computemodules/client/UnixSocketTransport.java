@@ -0,0 +1,436 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import com.palantir.computemodules.functions.results.BufferPool;
+import com.palantir.computemodules.functions.results.ByteArrayBody;
+import com.palantir.computemodules.functions.results.ByteBufferBody;
+import com.palantir.computemodules.functions.results.FileBody;
+import com.palantir.computemodules.functions.results.PooledBody;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.results.TypedBody;
+import com.palantir.computemodules.functions.serde.SerializationException;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIoException;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * Talks HTTP/1.1 to a runtime listening on a Unix domain socket, for runtimes co-located with the module, skipping
+ * the TCP loopback stack. Connections are kept alive and reused, an idle connection the runtime has since closed is
+ * replaced once. In memory bodies are written together with the request head in a single gathering write and file
+ * bodies are handed to the kernel with transferTo, neither is copied through the heap. Bodies of unknown length are
+ * sent chunked.
+ */
+public final class UnixSocketTransport implements Transport, Closeable {
+    private static final int MAX_IDLE_CONNECTIONS = 16;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final UnixDomainSocketAddress address;
+    private final String jobPath;
+    private final String resultsPath;
+    private final String moduleAuthToken;
+    private final Queue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private final ExecutorService uploads = Executors.newVirtualThreadPerTaskExecutor();
+
+    /*
+     * Uses the runtime's /job and /results paths.
+     */
+    public UnixSocketTransport(Path socket, String moduleAuthToken) {
+        this(socket, "/job", "/results", moduleAuthToken);
+    }
+
+    /*
+     * Results are posted to resultsPath/{jobId}.
+     */
+    public UnixSocketTransport(Path socket, String jobPath, String resultsPath, String moduleAuthToken) {
+        Preconditions.checkArgument(
+                moduleAuthToken.indexOf('\r') < 0 && moduleAuthToken.indexOf('\n') < 0,
+                "The module auth token must not contain line breaks");
+        this.address = UnixDomainSocketAddress.of(socket);
+        this.jobPath = jobPath;
+        this.resultsPath = resultsPath;
+        this.moduleAuthToken = moduleAuthToken;
+    }
+
+    @Override
+    public Response getJob() throws IOException {
+        return exchange("GET", jobPath, Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Integer> postResult(String jobId, ResultBody body) {
+        CompletableFuture<Integer> statusCode = new CompletableFuture<>();
+        try {
+            uploads.execute(() -> {
+                try {
+                    statusCode.complete(exchange("POST", resultsPath + "/" + jobId, Optional.of(body))
+                            .statusCode());
+                } catch (IOException | RuntimeException e) {
+                    statusCode.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            statusCode.completeExceptionally(e);
+        }
+        return statusCode;
+    }
+
+    @Override
+    public void close() {
+        uploads.shutdown();
+        for (Connection connection = idle.poll(); connection != null; connection = idle.poll()) {
+            connection.close();
+        }
+    }
+
+    private Response exchange(String method, String path, Optional<ResultBody> body) throws IOException {
+        Connection reused = idle.poll();
+        if (reused != null) {
+            try {
+                return exchange(reused, method, path, body);
+            } catch (IOException e) {
+                if (body.isPresent() && (!body.get().isRepeatable() || SerializationException.in(e).isPresent())) {
+                    throw e;
+                }
+            }
+        }
+        return exchange(Connection.open(address), method, path, body);
+    }
+
+    private Response exchange(Connection connection, String method, String path, Optional<ResultBody> body)
+            throws IOException {
+        boolean keepAlive = false;
+        try {
+            byte[] head = head(method, path, body).getBytes(StandardCharsets.US_ASCII);
+            if (body.isPresent()) {
+                connection.send(head, body.get());
+            } else {
+                connection.write(ByteBuffer.wrap(head));
+            }
+            Connection.Received received = connection.receive();
+            keepAlive = received.keepAlive();
+            return received.response();
+        } finally {
+            if (keepAlive && idle.size() < MAX_IDLE_CONNECTIONS) {
+                idle.add(connection);
+            } else {
+                connection.close();
+            }
+        }
+    }
+
+    private String head(String method, String path, Optional<ResultBody> body) {
+        StringBuilder head = new StringBuilder(256)
+                .append(method)
+                .append(' ')
+                .append(path)
+                .append(" HTTP/1.1\r\nHost: localhost\r\nModule-Auth-Token: ")
+                .append(moduleAuthToken)
+                .append("\r\n");
+        body.ifPresent(value -> {
+            head.append("Content-Type: ")
+                    .append(value.contentType().orElse(DEFAULT_CONTENT_TYPE))
+                    .append("\r\n");
+            value.contentEncoding()
+                    .ifPresent(encoding ->
+                            head.append("Content-Encoding: ").append(encoding.headerValue()).append("\r\n"));
+            OptionalLong length = value.contentLength();
+            if (length.isPresent()) {
+                head.append("Content-Length: ").append(length.getAsLong()).append("\r\n");
+            } else {
+                head.append("Transfer-Encoding: chunked\r\n");
+            }
+        });
+        return head.append("\r\n").toString();
+    }
+
+    private static final class Connection implements Closeable {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        static Connection open(UnixDomainSocketAddress address) throws IOException {
+            return new Connection(SocketChannel.open(address));
+        }
+
+        void send(byte[] head, ResultBody body) throws IOException {
+            switch (body) {
+                case ByteArrayBody bytes -> write(ByteBuffer.wrap(head), ByteBuffer.wrap(bytes.bytes()));
+                case ByteBufferBody buffer -> write(ByteBuffer.wrap(head), buffer.buffer().duplicate());
+                case PooledBody pooled -> {
+                    List<ByteBuffer> buffers = new ArrayList<>(pooled.buffers());
+                    buffers.add(0, ByteBuffer.wrap(head));
+                    write(buffers.toArray(ByteBuffer[]::new));
+                }
+                case TypedBody typed -> send(head, typed.delegate());
+                case FileBody file -> {
+                    write(ByteBuffer.wrap(head));
+                    try (FileChannel source = FileChannel.open(file.path())) {
+                        long size = source.size();
+                        for (long position = 0; position < size; ) {
+                            position += source.transferTo(position, size - position, channel);
+                        }
+                    }
+                }
+                default -> {
+                    BodyOutputStream out =
+                            new BodyOutputStream(ByteBuffer.wrap(head), body.contentLength().isEmpty());
+                    try {
+                        body.writeTo(out);
+                        out.finish();
+                    } finally {
+                        out.release();
+                    }
+                }
+            }
+        }
+
+        void write(ByteBuffer... buffers) throws IOException {
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        }
+
+        Received receive() throws IOException {
+            String statusLine = readLine();
+            if (!statusLine.startsWith("HTTP/1.") || statusLine.length() < 12) {
+                throw new SafeIoException("Malformed HTTP status line", SafeArg.of("statusLine", statusLine));
+            }
+            int statusCode = Integer.parseInt(statusLine.substring(9, 12));
+            boolean keepAlive = statusLine.startsWith("HTTP/1.1");
+            long contentLength = -1;
+            boolean chunked = false;
+            for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    continue;
+                }
+                String name = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim().toLowerCase(Locale.ROOT);
+                if (name.equalsIgnoreCase("Content-Length")) {
+                    contentLength = Long.parseLong(value);
+                } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                    chunked = value.contains("chunked");
+                } else if (name.equalsIgnoreCase("Connection")) {
+                    keepAlive = value.equals("keep-alive") || (keepAlive && !value.equals("close"));
+                }
+            }
+            ByteBuffer body;
+            if (statusCode == 204 || statusCode == 304) {
+                body = EMPTY;
+            } else if (chunked) {
+                body = ByteBuffer.wrap(readChunked());
+            } else if (contentLength >= 0) {
+                body = JobBodies.shouldSpill(contentLength)
+                        ? JobBodies.spill(in, channel, contentLength)
+                        : ByteBuffer.wrap(readFully(Math.toIntExact(contentLength)));
+            } else {
+                body = ByteBuffer.wrap(readToEnd());
+                keepAlive = false;
+            }
+            return new Received(new Response(statusCode, body), keepAlive);
+        }
+
+        private byte[] readChunked() throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                String line = readLine();
+                int extension = line.indexOf(';');
+                int size = Integer.parseInt((extension < 0 ? line : line.substring(0, extension)).trim(), 16);
+                if (size == 0) {
+                    while (!readLine().isEmpty()) {
+                        // trailers are ignored
+                    }
+                    return body.toByteArray();
+                }
+                body.writeBytes(readFully(size));
+                readLine();
+            }
+        }
+
+        private byte[] readFully(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int buffered = Math.min(length, in.remaining());
+            in.get(bytes, 0, buffered);
+            ByteBuffer rest = ByteBuffer.wrap(bytes, buffered, length - buffered);
+            while (rest.hasRemaining()) {
+                if (channel.read(rest) < 0) {
+                    throw new EOFException("Connection closed before the response body was read");
+                }
+            }
+            return bytes;
+        }
+
+        private byte[] readToEnd() throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            do {
+                body.write(in.array(), in.arrayOffset() + in.position(), in.remaining());
+                in.position(in.limit());
+            } while (fill());
+            return body.toByteArray();
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            while (true) {
+                if (!in.hasRemaining() && !fill()) {
+                    throw new EOFException("Connection closed before the response was read");
+                }
+                char next = (char) (in.get() & 0xff);
+                if (next == '\n') {
+                    int end = line.length();
+                    return end > 0 && line.charAt(end - 1) == '\r' ? line.substring(0, end - 1) : line.toString();
+                }
+                if (line.length() >= MAX_LINE_LENGTH) {
+                    throw new SafeIoException("HTTP response line too long");
+                }
+                line.append(next);
+            }
+        }
+
+        private boolean fill() throws IOException {
+            in.clear();
+            int read = channel.read(in);
+            in.flip();
+            return read >= 0;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing left to do with the connection
+            }
+        }
+
+        private record Received(Response response, boolean keepAlive) {}
+
+        /*
+         * Buffers the body in a pooled direct buffer, so the channel writes from it without a copy, and writes each
+         * buffer full as a chunk if chunked. The request head goes out with the first write. Bodies may close the
+         * stream they are written to, which only flushes it, finish completes the request without closing the
+         * connection.
+         */
+        private final class BodyOutputStream extends OutputStream {
+            private final boolean chunked;
+            private final BufferPool pool = BufferPool.direct();
+            private ByteBuffer head;
+            private ByteBuffer buffer;
+
+            BodyOutputStream(ByteBuffer head, boolean chunked) {
+                this.head = head;
+                this.chunked = chunked;
+                this.buffer = pool.acquire();
+            }
+
+            @Override
+            public void write(int value) throws IOException {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                buffer.put((byte) value);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                while (length > 0) {
+                    if (!buffer.hasRemaining()) {
+                        flush();
+                    }
+                    int copied = Math.min(length, buffer.remaining());
+                    buffer.put(bytes, offset, copied);
+                    offset += copied;
+                    length -= copied;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (buffer.position() == 0) {
+                    return;
+                }
+                buffer.flip();
+                if (chunked) {
+                    byte[] size =
+                            (Integer.toHexString(buffer.remaining()) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+                    Connection.this.write(head, ByteBuffer.wrap(size), buffer, ByteBuffer.wrap(CRLF));
+                } else {
+                    Connection.this.write(head, buffer);
+                }
+                head = EMPTY;
+                buffer.clear();
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+
+            void finish() throws IOException {
+                flush();
+                if (chunked) {
+                    Connection.this.write(head, ByteBuffer.wrap(LAST_CHUNK));
+                } else {
+                    Connection.this.write(head);
+                }
+                head = EMPTY;
+            }
+
+            void release() {
+                if (buffer != null) {
+                    pool.release(buffer);
+                    buffer = null;
+                }
+            }
+        }
+    }
+
+}
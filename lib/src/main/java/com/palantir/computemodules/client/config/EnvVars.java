@@ -32,6 +32,13 @@ public final class EnvVars {
             return this.type.get();
         }
 
+        /*
+         * Empty if the environment variable is not set.
+         */
+        public Optional<String> find() {
+            return System.getenv(type.name()) == null ? Optional.empty() : Optional.of(type.get());
+        }
+
         private final EnvVarType type;
 
         Reserved(EnvVarType type) {
@@ -43,6 +50,8 @@ public final class EnvVars {
 
     @com.google.errorprone.annotations.Immutable
     private sealed interface EnvVarType permits StringEnvVar, FileEnvVar {
+        String name();
+
         String get();
     }
 
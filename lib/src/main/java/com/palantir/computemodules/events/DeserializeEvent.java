@@ -0,0 +1,53 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Decoding a job's query into the function's input type.
+ */
+@Name("com.palantir.computemodules.Deserialize")
+@Label("Deserialize")
+@Category({"Compute Module", "Jobs"})
+@StackTrace(false)
+public final class DeserializeEvent extends Event {
+    @Label("Job Id")
+    private String jobId;
+
+    @Label("Query Type")
+    private String queryType;
+
+    @Label("Query Size")
+    @DataAmount
+    @Description("-1 if not known")
+    private long queryBytes;
+
+    public void commit(String newJobId, String newQueryType, long newQueryBytes) {
+        if (shouldCommit()) {
+            jobId = newJobId;
+            queryType = newQueryType;
+            queryBytes = newQueryBytes;
+            commit();
+        }
+    }
+}
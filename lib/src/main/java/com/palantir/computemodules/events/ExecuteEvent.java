@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/*
+ * A function running on a job's input. CPU time and allocation are those of the executing thread and do not include
+ * work the function handed to other threads. The JVM does not track either for virtual threads, so both are -1 for
+ * functions that run on them, as they do by default and with VIRTUAL_THREAD. Run a function with PLATFORM_POOL or
+ * FORK_JOIN_POOL, or give the module a platform thread executor, to record them.
+ */
+@Name("com.palantir.computemodules.Execute")
+@Label("Execute")
+@Category({"Compute Module", "Jobs"})
+@StackTrace(false)
+public final class ExecuteEvent extends Event {
+    @Label("Job Id")
+    private String jobId;
+
+    @Label("Query Type")
+    private String queryType;
+
+    @Label("CPU Time")
+    @Timespan
+    @Description("-1 if not known")
+    private long cpuTime;
+
+    @Label("Allocated")
+    @DataAmount
+    @Description("-1 if not known")
+    private long allocatedBytes;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public void commit(String newJobId, String newQueryType, ThreadUsage usage, boolean newFailed) {
+        if (shouldCommit()) {
+            jobId = newJobId;
+            queryType = newQueryType;
+            cpuTime = usage.cpuNanos();
+            allocatedBytes = usage.allocatedBytes();
+            failed = newFailed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Serializing a function's output upfront. Streaming serializers write their output while the result is uploaded
+ * and emit no serialize event, that work is part of the PostEvent.
+ */
+@Name("com.palantir.computemodules.Serialize")
+@Label("Serialize")
+@Category({"Compute Module", "Jobs"})
+@StackTrace(false)
+public final class SerializeEvent extends Event {
+    @Label("Job Id")
+    private String jobId;
+
+    @Label("Query Type")
+    private String queryType;
+
+    @Label("Result Size")
+    @DataAmount
+    @Description("-1 if not known")
+    private long resultBytes;
+
+    public void commit(String newJobId, String newQueryType, long newResultBytes) {
+        if (shouldCommit()) {
+            jobId = newJobId;
+            queryType = newQueryType;
+            resultBytes = newResultBytes;
+            commit();
+        }
+    }
+}
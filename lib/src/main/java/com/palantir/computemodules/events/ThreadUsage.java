@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.events;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+ * CPU time and allocated bytes of the current thread, each -1 where the JVM does not measure it. Neither is available
+ * for virtual threads, and CPU time may be disabled, see ThreadMXBean.setThreadCpuTimeEnabled.
+ */
+public record ThreadUsage(long cpuNanos, long allocatedBytes) {
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    public static ThreadUsage current() {
+        return new ThreadUsage(currentCpuNanos(), currentAllocatedBytes());
+    }
+
+    /*
+     * The usage between start and now, on the thread start was taken on.
+     */
+    public static ThreadUsage since(ThreadUsage start) {
+        ThreadUsage now = current();
+        return new ThreadUsage(
+                difference(start.cpuNanos(), now.cpuNanos()), difference(start.allocatedBytes(), now.allocatedBytes()));
+    }
+
+    private static long difference(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    private static long currentCpuNanos() {
+        return threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled()
+                ? threads.getCurrentThreadCpuTime()
+                : -1;
+    }
+
+    private static long currentAllocatedBytes() {
+        return threads instanceof com.sun.management.ThreadMXBean extended
+                        && extended.isThreadAllocatedMemorySupported()
+                        && extended.isThreadAllocatedMemoryEnabled()
+                ? extended.getCurrentThreadAllocatedBytes()
+                : -1;
+    }
+}
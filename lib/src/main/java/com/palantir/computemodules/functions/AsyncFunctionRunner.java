@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.computemodules.functions.results.Failed;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.serde.Deserializer;
+import com.palantir.computemodules.functions.serde.Serializer;
+import com.palantir.computemodules.metrics.FunctionMetrics;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/*
+ * Runs an AsyncFunction. The input is deserialized and the function called on the calling thread, the output is
+ * serialized on whichever thread completes the stage. Cancelling the returned future cancels the stage where the
+ * stage supports it.
+ */
+public final class AsyncFunctionRunner<I, O> {
+    private final AsyncFunction<I, O> function;
+    private final Class<I> inputType;
+    private final Class<O> outputType;
+    private final Deserializer<I> deserializer;
+    private final Serializer<O> serializer;
+
+    public AsyncFunctionRunner(
+            AsyncFunction<I, O> function,
+            Class<I> inputType,
+            Class<O> outputType,
+            Deserializer<I> deserializer,
+            Serializer<O> serializer) {
+        this.function = function;
+        this.inputType = inputType;
+        this.outputType = outputType;
+        this.deserializer = deserializer;
+        this.serializer = serializer;
+    }
+
+    public ListenableFuture<Result> run(Context context, Object input) {
+        return run(context, input, FunctionMetrics.noop());
+    }
+
+    public ListenableFuture<Result> run(Context context, Object input, FunctionMetrics metrics) {
+        I deserializedInput = FunctionRunner.deserialize(context, input, inputType, deserializer, metrics);
+        long deserialized = System.nanoTime();
+        CompletionStage<O> stage;
+        try {
+            stage = function.run(context, deserializedInput);
+        } catch (Exception e) {
+            metrics.execute().update(System.nanoTime() - deserialized);
+            return Futures.immediateFuture(new Failed(context.jobId(), e));
+        }
+        SettableFuture<Result> result = SettableFuture.create();
+        stage.whenComplete((output, throwable) -> {
+            metrics.execute().update(System.nanoTime() - deserialized);
+            result.set(
+                    throwable == null
+                            ? FunctionRunner.serialize(context, output, outputType, serializer, metrics)
+                            : new Failed(context.jobId(), unwrap(throwable)));
+        });
+        result.addListener(
+                () -> {
+                    if (result.isCancelled()) {
+                        cancel(stage);
+                    }
+                },
+                MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private static Exception unwrap(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        return cause instanceof Exception exception ? exception : new Exception(cause);
+    }
+
+    private static void cancel(CompletionStage<?> stage) {
+        try {
+            stage.toCompletableFuture().cancel(true);
+        } catch (UnsupportedOperationException e) {
+            // stages that cannot be converted cannot be cancelled either
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import java.util.List;
+
+/*
+ * A function over a batch of queries of the same type, for work that is cheaper per item in bulk. Each input comes with
+ * its job's Context, at the same index, which carries that job's deadline and cancellation. Must return exactly one
+ * output per input, in the same order.
+ *
+ * If the function throws every job in the batch fails, unless the batch was added with failure isolation, see
+ * BatchOptions.Builder.withFailureIsolation. Then each item is run again on its own, so the function runs twice for
+ * every item of a failed batch, along with any side effects it has.
+ */
+@FunctionalInterface
+public interface BatchFunction<I, O> {
+    List<O> run(List<Context> contexts, List<I> inputs);
+}
@@ -0,0 +1,100 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+
+/*
+ * When a batch of jobs is handed to a BatchFunction: as soon as maxBatchSize jobs are waiting, or once the oldest
+ * waiting job has waited maxLinger. Also whether the items of a failed batch are retried on their own.
+ */
+public final class BatchOptions {
+
+    private final int maxBatchSize;
+    private final Duration maxLinger;
+    private final boolean failureIsolation;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Duration maxLinger() {
+        return maxLinger;
+    }
+
+    public boolean failureIsolation() {
+        return failureIsolation;
+    }
+
+    private BatchOptions(int maxBatchSize, Duration maxLinger, boolean failureIsolation) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxLinger = maxLinger;
+        this.failureIsolation = failureIsolation;
+    }
+
+    public static final class Builder {
+        private int maxBatchSize = 64;
+        private Duration maxLinger = Duration.ofMillis(5);
+        private boolean failureIsolation = false;
+
+        private Builder() {}
+
+        /*
+         * Not required, defaults to 64. Batches never fill past the module's max in flight jobs, so keep that limit
+         * larger.
+         */
+        public Builder withMaxBatchSize(int newMaxBatchSize) {
+            Preconditions.checkArgument(
+                    newMaxBatchSize > 0,
+                    "Max batch size must be positive",
+                    SafeArg.of("maxBatchSize", newMaxBatchSize));
+            this.maxBatchSize = newMaxBatchSize;
+            return this;
+        }
+
+        /*
+         * Not required, defaults to 5ms. The most latency batching adds to any single job.
+         */
+        public Builder withMaxLinger(Duration newMaxLinger) {
+            Preconditions.checkArgument(
+                    !newMaxLinger.isNegative(),
+                    "Max linger must not be negative",
+                    SafeArg.of("maxLinger", newMaxLinger));
+            this.maxLinger = newMaxLinger;
+            return this;
+        }
+
+        /*
+         * Not required, defaults to false, where every job of a batch fails if the batch function throws. If true the
+         * items of a failed batch are each run again on their own, so that a single bad query only fails its own job.
+         * Only enable this for functions that are safe to run twice on the same input.
+         */
+        public Builder withFailureIsolation(boolean newFailureIsolation) {
+            this.failureIsolation = newFailureIsolation;
+            return this;
+        }
+
+        public BatchOptions build() {
+            return new BatchOptions(maxBatchSize, maxLinger, failureIsolation);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.palantir.computemodules.functions.results.Failed;
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.serde.Deserializer;
+import com.palantir.computemodules.functions.serde.Serializer;
+import com.palantir.computemodules.metrics.FunctionMetrics;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * The batch counterpart of FunctionRunner. Queries that fail to deserialize or outputs that fail to serialize only fail
+ * their own job. If the batch function throws every job fails, or with failure isolation each item is retried on its
+ * own so that a single bad query does not fail the whole batch.
+ */
+public final class BatchRunner<I, O> {
+    private static final SafeLogger log = SafeLoggerFactory.get(BatchRunner.class);
+
+    private final BatchFunction<I, O> function;
+    private final Class<I> inputType;
+    private final Class<O> outputType;
+    private final Deserializer<I> deserializer;
+    private final Serializer<O> serializer;
+
+    public BatchRunner(
+            BatchFunction<I, O> function,
+            Class<I> inputType,
+            Class<O> outputType,
+            Deserializer<I> deserializer,
+            Serializer<O> serializer) {
+        this.function = function;
+        this.inputType = inputType;
+        this.outputType = outputType;
+        this.deserializer = deserializer;
+        this.serializer = serializer;
+    }
+
+    /*
+     * Returns one result per context, in order.
+     */
+    public List<Result> run(List<Context> contexts, List<?> inputs, boolean failureIsolation, FunctionMetrics metrics) {
+        Result[] results = new Result[contexts.size()];
+        List<Context> deserializedContexts = new ArrayList<>(contexts.size());
+        List<I> deserializedInputs = new ArrayList<>(contexts.size());
+        long start = System.nanoTime();
+        for (int i = 0; i < contexts.size(); i++) {
+            try {
+                deserializedInputs.add(
+                        RawInputs.isRaw(inputType)
+                                ? inputType.cast(RawInputs.input(inputs.get(i), inputType))
+                                : deserializer.deserialize(inputs.get(i), inputType));
+                deserializedContexts.add(contexts.get(i));
+            } catch (Exception e) {
+                results[i] = new Failed(contexts.get(i).jobId(), e);
+            }
+        }
+        metrics.deserialize().update(System.nanoTime() - start);
+
+        List<Result> executed = execute(deserializedContexts, deserializedInputs, failureIsolation, metrics);
+        for (int i = 0, next = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = executed.get(next++);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<Result> execute(
+            List<Context> contexts, List<I> inputs, boolean failureIsolation, FunctionMetrics metrics) {
+        if (inputs.isEmpty()) {
+            return List.of();
+        }
+        List<O> outputs;
+        long start = System.nanoTime();
+        try {
+            outputs = function.run(contexts, inputs);
+            Preconditions.checkState(
+                    outputs.size() == inputs.size(),
+                    "Batch function must return one output per input",
+                    SafeArg.of("inputs", inputs.size()),
+                    SafeArg.of("outputs", outputs.size()));
+        } catch (Exception e) {
+            metrics.execute().update(System.nanoTime() - start);
+            if (!failureIsolation || inputs.size() == 1) {
+                List<Result> failed = new ArrayList<>(contexts.size());
+                for (Context context : contexts) {
+                    failed.add(new Failed(context.jobId(), e));
+                }
+                return failed;
+            }
+            return isolate(contexts, inputs, e, metrics);
+        }
+        metrics.execute().update(System.nanoTime() - start);
+
+        long serializeStart = System.nanoTime();
+        List<Result> results = new ArrayList<>(outputs.size());
+        for (int i = 0; i < outputs.size(); i++) {
+            results.add(serialize(contexts.get(i).jobId(), outputs.get(i)));
+        }
+        metrics.serialize().update(System.nanoTime() - serializeStart);
+        return results;
+    }
+
+    private List<Result> isolate(List<Context> contexts, List<I> inputs, Exception failure, FunctionMetrics metrics) {
+        log.info("Batch failed, retrying items individually", SafeArg.of("batchSize", inputs.size()), failure);
+        List<Result> results = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            results.addAll(execute(
+                    Collections.singletonList(contexts.get(i)),
+                    Collections.singletonList(inputs.get(i)),
+                    false,
+                    metrics));
+        }
+        return results;
+    }
+
+    private Result serialize(String jobId, O output) {
+        try {
+            if (RawOutputs.isRaw(outputType)) {
+                return new Ok(jobId, RawOutputs.body(output));
+            }
+            return serializer.serialize(jobId, output);
+        } catch (Exception e) {
+            return new Failed(jobId, e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Signals that a job's result is no longer wanted, for example because its timeout has passed. Checking it is a
+ * volatile read, long running functions should check between units of work or register a listener to abort blocking
+ * calls that do not respond to interrupts.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled = false;
+    private List<Runnable> listeners = new ArrayList<>();
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /*
+     * Runs the listener once the token is cancelled, on the cancelling thread. Runs it immediately if the token has
+     * already been cancelled.
+     */
+    public void onCancel(Runnable listener) {
+        synchronized (this) {
+            if (!cancelled) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /*
+     * Unregisters a listener passed to onCancel, for listeners that are done with the token before the job is.
+     */
+    public synchronized void removeOnCancel(Runnable listener) {
+        if (!cancelled) {
+            listeners.remove(listener);
+        }
+    }
+
+    /*
+     * Cancels the token, returns false if it had already been cancelled.
+     */
+    public boolean cancel() {
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            toRun = listeners;
+            listeners = List.of();
+        }
+        toRun.forEach(Runnable::run);
+        return true;
+    }
+}
@@ -15,4 +15,54 @@
  */
 package com.palantir.computemodules.functions;
 
-public record Context(String jobId) {}
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/*
+ * The deadline is when the job's timeout runs out, if it has one. Once it passes, or the job is otherwise cancelled,
+ * the result will not be posted and functions may stop early, see throwIfCancelled. Jobs that fail are cancelled too.
+ */
+public record Context(
+        String jobId, Optional<Instant> deadline, CancellationToken cancellation, Parallelism parallelism) {
+
+    public Context(String jobId) {
+        this(jobId, Optional.empty(), new CancellationToken());
+    }
+
+    public Context(String jobId, Optional<Instant> deadline, CancellationToken cancellation) {
+        this(jobId, deadline, cancellation, Parallelism.defaults());
+    }
+
+    public boolean isExpired() {
+        return deadline.isPresent() && !Instant.now().isBefore(deadline.get());
+    }
+
+    public boolean isCancelled() {
+        return cancellation.isCancelled() || isExpired();
+    }
+
+    /*
+     * Time left until the deadline, never negative. Empty if the job has no deadline.
+     */
+    public Optional<Duration> remaining() {
+        return deadline.map(value -> {
+            Duration remaining = Duration.between(Instant.now(), value);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        });
+    }
+
+    /*
+     * Opens a scope for running parts of this job in parallel, see JobScope. Subtasks are cancelled along with the job.
+     */
+    public JobScope openScope() {
+        return new JobScope(this);
+    }
+
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Job " + jobId + " was cancelled or passed its deadline");
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.palantir.computemodules.cache.CacheOptions;
+import com.palantir.computemodules.functions.results.CompressionPolicy;
+import com.palantir.computemodules.functions.serde.Codec;
+import com.palantir.computemodules.functions.serde.Codecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/*
+ * How jobs for a single function are executed. Each function gets its own queue, at most maxConcurrency of its jobs
+ * run at once and the rest wait their turn without holding up other functions.
+ */
+public final class FunctionOptions {
+
+    private static final FunctionOptions DEFAULTS = builder().build();
+
+    private final ExecutionMode executionMode;
+    private final int maxConcurrency;
+    private final Optional<CacheOptions> cache;
+    private final Codec outputCodec;
+    private final CompressionPolicy compression;
+    private final Optional<Duration> timeout;
+    private final OptionalInt maxParallelism;
+
+    public enum ExecutionMode {
+        /* Runs on the module's executor, see ComputeModuleBuilder.withExecutor. */
+        SHARED,
+        /* Runs each job on its own virtual thread, suited to functions that mostly wait on I/O. */
+        VIRTUAL_THREAD,
+        /*
+         * Runs on a pool of platform threads owned by the function, sized to maxConcurrency or the number of cores if
+         * unbounded. Suited to functions that pin virtual threads, for example by blocking inside synchronized code.
+         */
+        PLATFORM_POOL,
+        /* Runs on a ForkJoinPool shared by all such functions and sized to the number of cores, for CPU bound work. */
+        FORK_JOIN_POOL
+    }
+
+    public static FunctionOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ExecutionMode executionMode() {
+        return executionMode;
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public boolean isBounded() {
+        return maxConcurrency != Integer.MAX_VALUE;
+    }
+
+    public Optional<CacheOptions> cache() {
+        return cache;
+    }
+
+    public Codec outputCodec() {
+        return outputCodec;
+    }
+
+    public CompressionPolicy compression() {
+        return compression;
+    }
+
+    public Optional<Duration> timeout() {
+        return timeout;
+    }
+
+    public OptionalInt maxParallelism() {
+        return maxParallelism;
+    }
+
+    private FunctionOptions(
+            ExecutionMode executionMode,
+            int maxConcurrency,
+            Optional<CacheOptions> cache,
+            Codec outputCodec,
+            CompressionPolicy compression,
+            Optional<Duration> timeout,
+            OptionalInt maxParallelism) {
+        this.executionMode = executionMode;
+        this.maxConcurrency = maxConcurrency;
+        this.cache = cache;
+        this.outputCodec = outputCodec;
+        this.compression = compression;
+        this.timeout = timeout;
+        this.maxParallelism = maxParallelism;
+    }
+
+    public static final class Builder {
+        private ExecutionMode executionMode = ExecutionMode.SHARED;
+        private int maxConcurrency = Integer.MAX_VALUE;
+        private Optional<CacheOptions> cache = Optional.empty();
+        private Codec outputCodec = Codecs.JSON;
+        private CompressionPolicy compression = CompressionPolicy.none();
+        private Optional<Duration> timeout = Optional.empty();
+        private OptionalInt maxParallelism = OptionalInt.empty();
+
+        private Builder() {}
+
+        /*
+         * Not required, defaults to the module's executor.
+         */
+        public Builder withExecutionMode(ExecutionMode newExecutionMode) {
+            this.executionMode = newExecutionMode;
+            return this;
+        }
+
+        /*
+         * Not required, if unused the number of concurrently running jobs for this function is unbounded.
+         */
+        public Builder withMaxConcurrency(int newMaxConcurrency) {
+            Preconditions.checkArgument(
+                    newMaxConcurrency > 0,
+                    "Max concurrency must be positive",
+                    SafeArg.of("maxConcurrency", newMaxConcurrency));
+            this.maxConcurrency = newMaxConcurrency;
+            return this;
+        }
+
+        /*
+         * Not required, if unused results are not cached. Only use for functions whose result depends on nothing but
+         * the query, see ResultCache.
+         */
+        public Builder withCache(CacheOptions newCache) {
+            this.cache = Optional.of(newCache);
+            return this;
+        }
+
+        /*
+         * Not required, defaults to JSON. Only applies to functions added without their own FunctionRunner or
+         * BatchRunner, those bring their own serializer.
+         */
+        public Builder withOutputCodec(Codec newOutputCodec) {
+            this.outputCodec = newOutputCodec;
+            return this;
+        }
+
+        /*
+         * Not required, if unused results are posted uncompressed.
+         */
+        public Builder withCompression(CompressionPolicy newCompression) {
+            this.compression = newCompression;
+            return this;
+        }
+
+        /*
+         * Not required, if unused the module's timeout applies, see ComputeModuleBuilder.withTimeout. Measured from the
+         * moment the job is received, so time spent queued counts towards it.
+         */
+        public Builder withTimeout(Duration newTimeout) {
+            Preconditions.checkArgument(
+                    newTimeout.compareTo(Duration.ZERO) > 0,
+                    "Timeout must be positive",
+                    SafeArg.of("timeout", newTimeout));
+            this.timeout = Optional.of(newTimeout);
+            return this;
+        }
+
+        /*
+         * Not required, if unused a single job may fork as many concurrently running subtasks as the module's subtask
+         * pool has threads, see Context.openScope and ComputeModuleBuilder.withParallelism.
+         */
+        public Builder withMaxParallelism(int newMaxParallelism) {
+            Preconditions.checkArgument(
+                    newMaxParallelism > 0,
+                    "Max parallelism must be positive",
+                    SafeArg.of("maxParallelism", newMaxParallelism));
+            this.maxParallelism = OptionalInt.of(newMaxParallelism);
+            return this;
+        }
+
+        public FunctionOptions build() {
+            return new FunctionOptions(
+                    executionMode, maxConcurrency, cache, outputCodec, compression, timeout, maxParallelism);
+        }
+    }
+}
@@ -15,12 +15,18 @@
  */
 package com.palantir.computemodules.functions;
 
+import com.palantir.computemodules.events.DeserializeEvent;
+import com.palantir.computemodules.events.ExecuteEvent;
+import com.palantir.computemodules.events.SerializeEvent;
+import com.palantir.computemodules.events.ThreadUsage;
 import com.palantir.computemodules.functions.results.Failed;
 import com.palantir.computemodules.functions.results.Ok;
 import com.palantir.computemodules.functions.results.Result;
 import com.palantir.computemodules.functions.serde.Deserializer;
+import com.palantir.computemodules.functions.serde.RawQuery;
 import com.palantir.computemodules.functions.serde.Serializer;
-import java.io.InputStream;
+import com.palantir.computemodules.functions.serde.StreamingSerializer;
+import com.palantir.computemodules.metrics.FunctionMetrics;
 
 public final class FunctionRunner<I, O> {
     private final Function<I, O> function;
@@ -43,13 +49,88 @@ public final class FunctionRunner<I, O> {
     }
 
     public Result run(Context context, Object input) {
-        I deserializedInput = deserializer.deserialize(input, inputType);
+        return run(context, input, FunctionMetrics.noop());
+    }
+
+    /*
+     * Each stage is timed by the metrics and emits a JFR event while a recording is running. Thread CPU time and
+     * allocation are only measured for the execute event while it is enabled, reading them is not free.
+     */
+    public Result run(Context context, Object input, FunctionMetrics metrics) {
+        I deserializedInput = deserialize(context, input, inputType, deserializer, metrics);
+        long deserialized = System.nanoTime();
+        ExecuteEvent event = new ExecuteEvent();
+        event.begin();
+        ThreadUsage usage = event.isEnabled() ? ThreadUsage.current() : null;
+        O result;
+        try {
+            result = function.run(context, deserializedInput);
+        } catch (Exception e) {
+            executed(context, metrics, deserialized, event, usage, true);
+            return new Failed(context.jobId(), e);
+        }
+        executed(context, metrics, deserialized, event, usage, false);
+        return serialize(context, result, outputType, serializer, metrics);
+    }
+
+    private static void executed(
+            Context context,
+            FunctionMetrics metrics,
+            long deserialized,
+            ExecuteEvent event,
+            ThreadUsage usage,
+            boolean failed) {
+        metrics.execute().update(System.nanoTime() - deserialized);
+        if (usage != null) {
+            event.commit(context.jobId(), metrics.function(), ThreadUsage.since(usage), failed);
+        }
+    }
+
+    /*
+     * Shared with AsyncFunctionRunner, raw inputs are handed over as is and everything else goes through the
+     * deserializer.
+     */
+    static <I> I deserialize(
+            Context context,
+            Object input,
+            Class<I> inputType,
+            Deserializer<I> deserializer,
+            FunctionMetrics metrics) {
+        DeserializeEvent event = new DeserializeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        I deserialized = RawInputs.isRaw(inputType)
+                ? inputType.cast(RawInputs.input(input, inputType))
+                : deserializer.deserialize(input, inputType);
+        metrics.deserialize().update(System.nanoTime() - start);
+        event.commit(context.jobId(), metrics.function(), input instanceof RawQuery query ? query.length() : -1);
+        return deserialized;
+    }
+
+    /*
+     * Shared with AsyncFunctionRunner, raw outputs are posted as is and everything else goes through the serializer.
+     * Streaming serializers only create their body here, its output is written and timed while the result is
+     * uploaded, so no serialize timing or event is recorded for them.
+     */
+    static <O> Result serialize(
+            Context context, O output, Class<O> outputType, Serializer<O> serializer, FunctionMetrics metrics) {
         try {
-            O result = function.run(context, deserializedInput);
-            if (InputStream.class.isAssignableFrom(outputType)) {
-                return new Ok(context.jobId(), (InputStream) result);
+            if (RawOutputs.isRaw(outputType)) {
+                return new Ok(context.jobId(), RawOutputs.body(output));
+            }
+            if (serializer instanceof StreamingSerializer) {
+                return serializer.serialize(context.jobId(), output);
             }
-            return serializer.serialize(context.jobId(), result);
+            SerializeEvent event = new SerializeEvent();
+            event.begin();
+            long serializeStart = System.nanoTime();
+            Result serialized = serializer.serialize(context.jobId(), output);
+            metrics.serialize().update(System.nanoTime() - serializeStart);
+            event.commit(
+                    context.jobId(),
+                    metrics.function(),
+                    serialized instanceof Ok ok ? ok.body().contentLength().orElse(-1) : -1);
+            return serialized;
         } catch (Exception e) {
             return new Failed(context.jobId(), e);
         }
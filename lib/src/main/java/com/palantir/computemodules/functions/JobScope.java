@@ -0,0 +1,196 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.palantir.logsafe.Preconditions;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Subtasks forked from a job, run on the module's subtask pool with at most Parallelism.maxPerJob of them running at
+ * once. Subtasks beyond that wait in the scope rather than in the pool, and the job's own thread runs them while it
+ * joins if a slot is free. The first subtask to fail cancels the rest, as does cancelling the job or closing the scope.
+ * Scopes may be opened from within a subtask, joining them there lets the pool add a thread while the subtask waits.
+ *
+ * try (JobScope scope = context.openScope()) {
+ *     Future<Long> left = scope.fork(() -> count(input.left()));
+ *     Future<Long> right = scope.fork(() -> count(input.right()));
+ *     scope.join();
+ *     return left.resultNow() + right.resultNow();
+ * }
+ */
+public final class JobScope implements AutoCloseable {
+
+    private final Context context;
+    private final Parallelism parallelism;
+    private final Queue<Subtask<?>> queue = new ConcurrentLinkedQueue<>();
+    private final Queue<Subtask<?>> forked = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Runnable onCancel = this::cancelSubtasks;
+    private volatile boolean closed = false;
+
+    JobScope(Context context) {
+        this.context = context;
+        this.parallelism = context.parallelism();
+        context.cancellation().onCancel(onCancel);
+    }
+
+    /*
+     * Starts the task once a slot is free. Throws CancellationException if the job has been cancelled.
+     */
+    public <T> Future<T> fork(Callable<T> task) {
+        Preconditions.checkState(!closed, "Cannot fork from a closed scope");
+        context.throwIfCancelled();
+        Subtask<T> subtask = new Subtask<>(task);
+        forked.add(subtask);
+        queue.add(subtask);
+        drain();
+        return subtask;
+    }
+
+    /*
+     * Waits for every subtask forked so far, running queued ones on the calling thread. Throws the first failure, or
+     * CancellationException if the job was cancelled.
+     */
+    public void join() throws InterruptedException, ExecutionException {
+        boolean helped = true;
+        while (helped && failure.get() == null) {
+            helped = runQueued();
+        }
+        for (Subtask<?> subtask : forked) {
+            ForkJoinPool.managedBlock(subtask);
+        }
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new ExecutionException(cause);
+        }
+        context.throwIfCancelled();
+    }
+
+    /*
+     * Cancels and interrupts subtasks that have not completed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        context.cancellation().removeOnCancel(onCancel);
+        cancelSubtasks();
+    }
+
+    private void cancelSubtasks() {
+        queue.clear();
+        forked.forEach(subtask -> subtask.cancel(true));
+    }
+
+    /*
+     * Runs a queued subtask on the calling thread if the job has a slot free, the caller takes the slot for its
+     * duration.
+     */
+    private boolean runQueued() {
+        int current = running.get();
+        if (current >= parallelism.maxPerJob() || !running.compareAndSet(current, current + 1)) {
+            return false;
+        }
+        try {
+            Subtask<?> subtask = queue.poll();
+            if (subtask == null) {
+                return false;
+            }
+            subtask.run();
+            return true;
+        } finally {
+            running.decrementAndGet();
+            drain();
+        }
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = running.get();
+            if (current >= parallelism.maxPerJob()) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Subtask<?> subtask = queue.poll();
+            if (subtask == null || subtask.isDone()) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                parallelism.pool().execute(() -> {
+                    try {
+                        subtask.run();
+                    } finally {
+                        running.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                subtask.reject(e);
+            }
+        }
+    }
+
+    /*
+     * Waited on through ForkJoinPool.managedBlock, so a subtask joining a nested scope on a pool thread does not leave
+     * the pool a thread short while it blocks.
+     */
+    private final class Subtask<T> extends FutureTask<T> implements ForkJoinPool.ManagedBlocker {
+        Subtask(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            try {
+                get();
+            } catch (ExecutionException | CancellationException e) {
+                // the first failure is rethrown by join, a failure or cancellation cancels the remaining subtasks
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return isDone();
+        }
+
+        @Override
+        protected void setException(Throwable throwable) {
+            super.setException(throwable);
+            if (failure.compareAndSet(null, throwable)) {
+                cancelSubtasks();
+            }
+        }
+
+        void reject(Throwable throwable) {
+            setException(throwable);
+        }
+    }
+}
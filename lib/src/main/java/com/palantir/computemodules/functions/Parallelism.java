@@ -0,0 +1,46 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.google.common.base.Suppliers;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/*
+ * Where a job's subtasks run, see Context.openScope. The pool is shared by every job, so its size caps the number of
+ * threads running subtasks across the module. maxPerJob caps how many of those a single job may occupy at once, so
+ * one large job cannot starve the others.
+ */
+public record Parallelism(ForkJoinPool pool, int maxPerJob) {
+
+    private static final Supplier<ForkJoinPool> SHARED =
+            Suppliers.memoize(() -> new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+
+    public Parallelism {
+        Preconditions.checkArgument(
+                maxPerJob > 0, "Max parallelism per job must be positive", SafeArg.of("maxPerJob", maxPerJob));
+    }
+
+    /*
+     * A pool sized to the number of cores, any job may use all of it.
+     */
+    public static Parallelism defaults() {
+        ForkJoinPool pool = SHARED.get();
+        return new Parallelism(pool, pool.getParallelism());
+    }
+}
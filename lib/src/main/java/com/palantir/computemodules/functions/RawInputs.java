@@ -0,0 +1,58 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+
+/*
+ * Input types that are handed the query's undecoded JSON rather than deserialized, so that functions can read large
+ * queries incrementally. Queries from the runtime are read straight from the received bytes, other queries are
+ * serialized to JSON first.
+ */
+final class RawInputs {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    static boolean isRaw(Class<?> inputType) {
+        return inputType == InputStream.class || inputType == ReadableByteChannel.class || inputType == RawQuery.class;
+    }
+
+    static Object input(Object query, Class<?> inputType) {
+        RawQuery raw = query instanceof RawQuery rawQuery ? rawQuery : json(query);
+        if (inputType == InputStream.class) {
+            return raw.openStream();
+        }
+        if (inputType == ReadableByteChannel.class) {
+            return raw.openChannel();
+        }
+        return raw;
+    }
+
+    private static RawQuery json(Object query) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(query);
+            return RawQuery.of(json, 0, json.length);
+        } catch (JsonProcessingException e) {
+            throw new SafeIllegalArgumentException("Failed to serialize query", e);
+        }
+    }
+
+    private RawInputs() {}
+}
@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/*
+ * Output types that already are the result body and are posted as is rather than serialized.
+ */
+final class RawOutputs {
+
+    static boolean isRaw(Class<?> outputType) {
+        return InputStream.class.isAssignableFrom(outputType)
+                || outputType == byte[].class
+                || ByteBuffer.class.isAssignableFrom(outputType)
+                || Path.class.isAssignableFrom(outputType);
+    }
+
+    static ResultBody body(Object output) {
+        return switch (output) {
+            case InputStream stream -> ResultBody.of(stream);
+            case byte[] bytes -> ResultBody.of(bytes);
+            case ByteBuffer buffer -> ResultBody.of(buffer);
+            case Path path -> ResultBody.of(path);
+            default -> throw new SafeIllegalArgumentException(
+                    "Unsupported raw output", SafeArg.of("type", output.getClass().getName()));
+        };
+    }
+
+    private RawOutputs() {}
+}
@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * A bounded pool of equally sized buffers, shared by every thread rather than cached per thread, which would hold a
+ * buffer per virtual thread. Acquiring from an empty pool allocates a new buffer, releasing into a full pool drops the
+ * buffer, so the pool never blocks and never holds more than maxPooled buffers. Released buffers must not be used
+ * again by whoever released them.
+ */
+public final class BufferPool {
+    public static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED = 512;
+    private static final BufferPool HEAP = new BufferPool(BUFFER_SIZE, MAX_POOLED, false);
+    private static final BufferPool DIRECT = new BufferPool(BUFFER_SIZE, MAX_POOLED, true);
+
+    private final int bufferSize;
+    private final boolean direct;
+    private final BlockingQueue<ByteBuffer> pooled;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BufferPool(int bufferSize, int maxPooled, boolean direct) {
+        Preconditions.checkArgument(
+                bufferSize > 0, "Buffer size must be positive", SafeArg.of("bufferSize", bufferSize));
+        Preconditions.checkArgument(maxPooled > 0, "Max pooled must be positive", SafeArg.of("maxPooled", maxPooled));
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+        this.pooled = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /*
+     * Heap buffers, used for result bodies and the chunks they are streamed in.
+     */
+    public static BufferPool heap() {
+        return HEAP;
+    }
+
+    /*
+     * Direct buffers, used to write to channels without the JDK copying heap buffers into temporary direct ones.
+     */
+    public static BufferPool direct() {
+        return DIRECT;
+    }
+
+    /*
+     * A cleared buffer of bufferSize bytes.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pooled.poll();
+        if (buffer != null) {
+            hits.increment();
+            return buffer;
+        }
+        misses.increment();
+        return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    }
+
+    /*
+     * Buffers that were not acquired from this pool are ignored.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize && buffer.isDirect() == direct && !buffer.isReadOnly()) {
+            pooled.offer(buffer.clear());
+        }
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int pooled() {
+        return pooled.size();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.OptionalLong;
+
+/*
+ * A body backed by the remaining bytes of a buffer, typically a MappedByteBuffer over a file. The buffer's position and
+ * limit are never modified, reads and writes go through duplicates.
+ */
+public record ByteBufferBody(ByteBuffer buffer) implements ResultBody {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Override
+    public InputStream openStream() {
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer remaining = buffer.duplicate();
+        if (remaining.hasArray()) {
+            out.write(remaining.array(), remaining.arrayOffset() + remaining.position(), remaining.remaining());
+            return;
+        }
+        byte[] chunk = new byte[Math.min(CHUNK_SIZE, remaining.remaining())];
+        while (remaining.hasRemaining()) {
+            int length = Math.min(chunk.length, remaining.remaining());
+            remaining.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    @Override
+    public OptionalLong contentLength() {
+        return OptionalLong.of(buffer.remaining());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer remaining;
+
+        private ByteBufferInputStream(ByteBuffer remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() {
+            return remaining.hasRemaining() ? remaining.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!remaining.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, remaining.remaining());
+            remaining.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return remaining.remaining();
+        }
+    }
+}
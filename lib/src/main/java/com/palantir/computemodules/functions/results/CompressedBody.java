@@ -0,0 +1,84 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/*
+ * Compresses the delegate as it is written, the uncompressed body is never held in full. Reading the body compresses
+ * on a separate thread in the same way as a StreamingBody.
+ */
+public record CompressedBody(ResultBody delegate, ContentEncoding encoding) implements ResultBody {
+
+    @Override
+    public InputStream openStream() {
+        return new StreamingBody(this::writeTo).openStream();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        // closing the encoder writes its trailer, the target stream stays open for the caller to close
+        OutputStream encoder = encoding.encode(new UnclosableOutputStream(out));
+        delegate.writeTo(encoder);
+        encoder.close();
+    }
+
+    @Override
+    public OptionalLong contentLength() {
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return delegate.isRepeatable();
+    }
+
+    @Override
+    public void release() {
+        delegate.release();
+    }
+
+    @Override
+    public Optional<ContentEncoding> contentEncoding() {
+        return Optional.of(encoding);
+    }
+
+    @Override
+    public Optional<String> contentType() {
+        return delegate.contentType();
+    }
+
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+        private UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/*
+ * Whether and how a function's results are compressed before they are posted. Bodies whose length is known upfront
+ * are only compressed from minBytes on, streamed bodies of unknown length are always compressed since checking their
+ * size would mean buffering them.
+ */
+public final class CompressionPolicy {
+    private static final SafeLogger log = SafeLoggerFactory.get(CompressionPolicy.class);
+    private static final CompressionPolicy NONE = new CompressionPolicy(Optional.empty(), 0);
+
+    private final Optional<ContentEncoding> encoding;
+    private final long minBytes;
+
+    public static CompressionPolicy none() {
+        return NONE;
+    }
+
+    public static CompressionPolicy gzip(long minBytes) {
+        return new CompressionPolicy(Optional.of(ContentEncoding.GZIP), minBytes);
+    }
+
+    /*
+     * Falls back to gzip if zstd-jni is not on the classpath.
+     */
+    public static CompressionPolicy zstd(long minBytes) {
+        if (!ContentEncoding.isZstdAvailable()) {
+            log.warn("zstd-jni is not on the classpath, compressing results with gzip instead");
+            return gzip(minBytes);
+        }
+        return new CompressionPolicy(Optional.of(ContentEncoding.ZSTD), minBytes);
+    }
+
+    public ResultBody apply(ResultBody body) {
+        if (encoding.isEmpty() || body.contentEncoding().isPresent()) {
+            return body;
+        }
+        OptionalLong length = body.contentLength();
+        if (length.isPresent() && length.getAsLong() < minBytes) {
+            return body;
+        }
+        return new CompressedBody(body, encoding.get());
+    }
+
+    private CompressionPolicy(Optional<ContentEncoding> encoding, long minBytes) {
+        Preconditions.checkArgument(minBytes >= 0, "Min bytes must not be negative", SafeArg.of("minBytes", minBytes));
+        this.encoding = encoding;
+        this.minBytes = minBytes;
+    }
+}
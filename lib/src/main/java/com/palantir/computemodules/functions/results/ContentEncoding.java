@@ -0,0 +1,107 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Content encodings result bodies can be compressed with. Zstandard requires com.github.luben:zstd-jni on the
+ * classpath, it is not a dependency of this library.
+ */
+public enum ContentEncoding {
+    GZIP("gzip") {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+    ZSTD("zstd") {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return Zstd.encode(out);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return Zstd.decode(in);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String headerValue;
+
+    ContentEncoding(String headerValue) {
+        this.headerValue = headerValue;
+    }
+
+    /*
+     * The value of the Content-Encoding header.
+     */
+    public String headerValue() {
+        return headerValue;
+    }
+
+    /*
+     * Closing the returned stream finishes the encoding and closes the underlying stream.
+     */
+    public abstract OutputStream encode(OutputStream out) throws IOException;
+
+    public abstract InputStream decode(InputStream in) throws IOException;
+
+    public static Optional<ContentEncoding> fromHeader(String headerValue) {
+        return Arrays.stream(values())
+                .filter(encoding -> encoding.headerValue.equalsIgnoreCase(headerValue))
+                .findFirst();
+    }
+
+    static boolean isZstdAvailable() {
+        try {
+            Class.forName("com.github.luben.zstd.ZstdOutputStream", false, ContentEncoding.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /*
+     * Keeps zstd-jni classes from being loaded unless zstd is actually used.
+     */
+    private static final class Zstd {
+        private static final int LEVEL = 3;
+
+        static OutputStream encode(OutputStream out) throws IOException {
+            return new ZstdOutputStream(out, LEVEL);
+        }
+
+        static InputStream decode(InputStream in) throws IOException {
+            return new ZstdInputStream(in);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/*
+ * Reports how many bytes the delegate produced and how long it took, once it has been fully read or written.
+ */
+public record MeteredBody(ResultBody delegate, Observer observer) implements ResultBody {
+
+    @FunctionalInterface
+    public interface Observer {
+        void onComplete(long bytes, long durationNanos);
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new CountingInputStream(delegate.openStream(), System.nanoTime());
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        CountingOutputStream counting = new CountingOutputStream(out);
+        delegate.writeTo(counting);
+        observer.onComplete(counting.count, System.nanoTime() - start);
+    }
+
+    @Override
+    public OptionalLong contentLength() {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return delegate.isRepeatable();
+    }
+
+    @Override
+    public void release() {
+        delegate.release();
+    }
+
+    @Override
+    public Optional<ContentEncoding> contentEncoding() {
+        return delegate.contentEncoding();
+    }
+
+    @Override
+    public Optional<String> contentType() {
+        return delegate.contentType();
+    }
+
+    private final class CountingInputStream extends FilterInputStream {
+        private final long start;
+        private long count = 0;
+        private boolean reported = false;
+
+        private CountingInputStream(InputStream in, long start) {
+            super(in);
+            this.start = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value == -1) {
+                report();
+            } else {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read == -1) {
+                report();
+            } else {
+                count += read;
+            }
+            return read;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                observer.onComplete(count, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            out.write(value);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
@@ -17,4 +17,16 @@ package com.palantir.computemodules.functions.results;
 
 import java.io.InputStream;
 
-public record Ok(String jobId, InputStream result) implements Result {}
+public record Ok(String jobId, ResultBody body) implements Result {
+
+    public Ok(String jobId, InputStream result) {
+        this(jobId, ResultBody.of(result));
+    }
+
+    /*
+     * Opens the body for reading, see ResultBody.openStream.
+     */
+    public InputStream result() {
+        return body.openStream();
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIoException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A bounded single producer, single consumer pipe of byte chunks. Unlike PipedInputStream it does not track the
+ * threads on either end, so it is safe to read from a pool of threads, and a failure of the writer is surfaced to the
+ * reader as an IOException rather than as a silently truncated stream. Chunks are borrowed from the heap BufferPool
+ * and handed back once read.
+ *
+ * A reader that stops reading without closing the stream would leave the writer blocked on a full pipe forever, so a
+ * write that waits longer than the write timeout for room fails the pipe instead. A reader that comes back after that
+ * gets the failure rather than a truncated body.
+ */
+final class Pipe {
+    private static final int MAX_CHUNKS = 8;
+    private static final Duration WRITE_TIMEOUT = Duration.ofMinutes(5);
+    private static final ByteBuffer EOF = ByteBuffer.allocate(0);
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final BufferPool pool = BufferPool.heap();
+    private final BlockingQueue<ByteBuffer> chunks = new ArrayBlockingQueue<>(MAX_CHUNKS);
+    private final Duration writeTimeout;
+    private volatile boolean readerClosed = false;
+    private volatile Throwable failure;
+
+    Pipe() {
+        this(WRITE_TIMEOUT);
+    }
+
+    @VisibleForTesting
+    Pipe(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    OutputStream sink() {
+        return new Sink();
+    }
+
+    InputStream source() {
+        return new Source();
+    }
+
+    void fail(Throwable throwable) {
+        failure = throwable;
+        if (!readerClosed) {
+            try {
+                if (!chunks.offer(EOF, writeTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    abandon();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void put(ByteBuffer chunk) throws IOException {
+        if (readerClosed) {
+            throw new IOException("Result body reader was closed");
+        }
+        boolean added;
+        try {
+            added = chunks.offer(chunk, writeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted writing result body");
+        }
+        if (!added) {
+            pool.release(chunk);
+            IOException timeout = new SafeIoException(
+                    "Result body reader stopped reading", SafeArg.of("writeTimeoutMillis", writeTimeout.toMillis()));
+            failure = timeout;
+            abandon();
+            throw timeout;
+        }
+    }
+
+    /*
+     * Only called by the writer, so once the queued chunks are dropped there is room for the EOF.
+     */
+    private void abandon() {
+        for (ByteBuffer queued = chunks.poll(); queued != null; queued = chunks.poll()) {
+            pool.release(queued);
+        }
+        chunks.offer(EOF);
+    }
+
+    private final class Sink extends OutputStream {
+        private ByteBuffer buffer;
+        private boolean closed = false;
+
+        @Override
+        public void write(int value) throws IOException {
+            writable().put((byte) value);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                ByteBuffer writable = writable();
+                int copied = Math.min(length, writable.remaining());
+                writable.put(bytes, offset, copied);
+                offset += copied;
+                length -= copied;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer != null && buffer.position() > 0) {
+                ByteBuffer chunk = buffer.flip();
+                buffer = null;
+                put(chunk);
+            }
+        }
+
+        private ByteBuffer writable() throws IOException {
+            if (buffer != null && !buffer.hasRemaining()) {
+                flush();
+            }
+            if (buffer == null) {
+                buffer = pool.acquire();
+            }
+            return buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                flush();
+                if (buffer != null) {
+                    pool.release(buffer);
+                    buffer = null;
+                }
+                put(EOF);
+            }
+        }
+    }
+
+    private final class Source extends InputStream {
+        private ByteBuffer chunk = EMPTY;
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            return chunk.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int copied = Math.min(length, chunk.remaining());
+            chunk.get(bytes, offset, copied);
+            return copied;
+        }
+
+        @Override
+        public int available() {
+            return chunk.remaining();
+        }
+
+        @Override
+        public void close() {
+            readerClosed = true;
+            pool.release(chunk);
+            chunk = EOF;
+            for (ByteBuffer queued = chunks.poll(); queued != null; queued = chunks.poll()) {
+                pool.release(queued);
+            }
+        }
+
+        private boolean ensureAvailable() throws IOException {
+            while (chunk != EOF && !chunk.hasRemaining()) {
+                pool.release(chunk);
+                chunk = EMPTY;
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted reading result body");
+                }
+            }
+            if (chunk == EOF) {
+                Throwable cause = failure;
+                if (cause != null) {
+                    throw new IOException("Failed to write result body", cause);
+                }
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * A body held in buffers borrowed from a BufferPool, written with a PooledBody.Output. The buffers are reference
+ * counted: the body holds one reference, dropped by ResultBody.release once it has been posted, and every stream opened
+ * on it or lease taken holds another until it is closed. The buffers go back to the pool once all are dropped, so
+ * clients that keep reading after the post has completed never see another job's bytes. Streams release their
+ * reference once read to the end.
+ */
+public final class PooledBody implements ResultBody {
+    private final BufferPool pool;
+    private final List<ByteBuffer> buffers;
+    private final long length;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private PooledBody(BufferPool pool, List<ByteBuffer> buffers, long length) {
+        this.pool = pool;
+        this.buffers = buffers;
+        this.length = length;
+    }
+
+    public static Output output(BufferPool pool) {
+        return new Output(pool);
+    }
+
+    /*
+     * Read only views of the written bytes, in order. They are only valid until the body is released, readers that may
+     * outlive it must hold a lease while using them.
+     */
+    public List<ByteBuffer> buffers() {
+        checkNotReleased();
+        List<ByteBuffer> views = new ArrayList<>(buffers.size());
+        for (ByteBuffer buffer : buffers) {
+            views.add(buffer.asReadOnlyBuffer());
+        }
+        return views;
+    }
+
+    /*
+     * Keeps the buffers out of the pool until the lease is closed. Throws if they have already gone back.
+     */
+    public Lease lease() {
+        references.updateAndGet(count -> {
+            if (count <= 0) {
+                throw new IllegalStateException("Pooled body was read after it was released");
+            }
+            return count + 1;
+        });
+        return new Lease();
+    }
+
+    @Override
+    public InputStream openStream() {
+        Lease lease = lease();
+        return new PooledStream(buffers().iterator(), lease);
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        try (Lease lease = lease()) {
+            for (ByteBuffer buffer : buffers()) {
+                new ByteBufferBody(buffer).writeTo(out);
+            }
+        }
+    }
+
+    @Override
+    public OptionalLong contentLength() {
+        return OptionalLong.of(length);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    /*
+     * Drops the body's own reference, the buffers go back once every stream and lease has been closed as well.
+     */
+    @Override
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            dereference();
+        }
+    }
+
+    private void dereference() {
+        if (references.decrementAndGet() == 0) {
+            buffers.forEach(pool::release);
+        }
+    }
+
+    private void checkNotReleased() {
+        if (references.get() <= 0) {
+            throw new IllegalStateException("Pooled body was read after it was released");
+        }
+    }
+
+    public final class Lease implements AutoCloseable {
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease() {}
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                dereference();
+            }
+        }
+    }
+
+    /*
+     * Reads the views in order, closing its lease once closed or read to the end. Nothing is read from the views after
+     * that, they may already belong to another body.
+     */
+    private static final class PooledStream extends InputStream {
+        private final Iterator<ByteBuffer> views;
+        private final Lease lease;
+        private ByteBuffer current = null;
+        private boolean closed = false;
+
+        private PooledStream(Iterator<ByteBuffer> views, Lease lease) {
+            this.views = views;
+            this.lease = lease;
+        }
+
+        @Override
+        public int read() {
+            return advance() ? current.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!advance()) {
+                return -1;
+            }
+            int read = Math.min(length, current.remaining());
+            current.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return closed || current == null ? 0 : current.remaining();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            current = null;
+            lease.close();
+        }
+
+        private boolean advance() {
+            while (!closed && (current == null || !current.hasRemaining())) {
+                if (views.hasNext()) {
+                    current = views.next();
+                } else {
+                    close();
+                }
+            }
+            return !closed;
+        }
+    }
+
+    /*
+     * Collects written bytes into pooled buffers, toBody hands them over to the body.
+     */
+    public static final class Output extends OutputStream {
+        private final BufferPool pool;
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private ByteBuffer current;
+        private long length = 0;
+
+        private Output(BufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void write(int value) {
+            writable().put((byte) value);
+            length++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                ByteBuffer buffer = writable();
+                int written = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, written);
+                offset += written;
+                length -= written;
+                this.length += written;
+            }
+        }
+
+        public PooledBody toBody() {
+            List<ByteBuffer> flipped = new ArrayList<>(buffers.size());
+            for (ByteBuffer buffer : buffers) {
+                flipped.add(buffer.flip());
+            }
+            buffers.clear();
+            current = null;
+            return new PooledBody(pool, flipped, length);
+        }
+
+        /*
+         * Hands the buffers back without building a body, for writes that failed part way. Closing the stream does not,
+         * so that writers closing it do not lose what they wrote.
+         */
+        public void discard() {
+            buffers.forEach(pool::release);
+            buffers.clear();
+            current = null;
+        }
+
+        private ByteBuffer writable() {
+            if (current == null || !current.hasRemaining()) {
+                current = pool.acquire();
+                buffers.add(current);
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/*
+ * The body of a successful result. Bodies can be read as a stream, or written into the outgoing request body which
+ * avoids buffering bodies that are produced incrementally.
+ */
+public sealed interface ResultBody
+        permits ByteArrayBody,
+                ByteBufferBody,
+                CompressedBody,
+                FileBody,
+                InputStreamBody,
+                MeteredBody,
+                PooledBody,
+                StreamingBody,
+                TypedBody {
+
+    static ResultBody of(InputStream stream) {
+        return new InputStreamBody(stream);
+    }
+
+    static ResultBody of(byte[] bytes) {
+        return new ByteArrayBody(bytes);
+    }
+
+    /*
+     * The remaining bytes of the buffer. Map large files with FileChannel.map to post them without copying them onto
+     * the heap first.
+     */
+    static ResultBody of(ByteBuffer buffer) {
+        return new ByteBufferBody(buffer);
+    }
+
+    static ResultBody of(Path path) {
+        return new FileBody(path);
+    }
+
+    static ResultBody streaming(BodyWriter writer) {
+        return new StreamingBody(writer);
+    }
+
+    /*
+     * For writers that can only run once.
+     */
+    static ResultBody streamingOnce(BodyWriter writer) {
+        return new StreamingBody(writer, false);
+    }
+
+    /*
+     * Opens the body for reading. Bodies that are not repeatable may only be opened or written once.
+     */
+    InputStream openStream();
+
+    void writeTo(OutputStream out) throws IOException;
+
+    /*
+     * The length of the body in bytes, if known upfront.
+     */
+    OptionalLong contentLength();
+
+    boolean isRepeatable();
+
+    /*
+     * The encoding the body is compressed with, if any. Clients must send it as the Content-Encoding.
+     */
+    default Optional<ContentEncoding> contentEncoding() {
+        return Optional.empty();
+    }
+
+    /*
+     * The media type of the body, if known. Clients send it as the Content-Type, application/octet-stream otherwise.
+     */
+    default Optional<String> contentType() {
+        return Optional.empty();
+    }
+
+    /*
+     * Called once the body has been posted, or will not be, to hand back any pooled buffers it holds. See PooledBody.
+     */
+    default void release() {}
+}
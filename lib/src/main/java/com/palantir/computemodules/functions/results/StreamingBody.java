@@ -0,0 +1,64 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.OptionalLong;
+
+/*
+ * A body produced by a BodyWriter. Writing it into a request body streams it directly, reading it runs the writer on
+ * a virtual thread feeding a bounded pipe, so at most a few chunks are held in memory at any time. Bodies whose
+ * writer consumes its source, such as a Stream, are not repeatable.
+ */
+public record StreamingBody(BodyWriter writer, boolean repeatable) implements ResultBody {
+
+    public StreamingBody(BodyWriter writer) {
+        this(writer, true);
+    }
+
+    @Override
+    public InputStream openStream() {
+        Pipe pipe = new Pipe();
+        Thread.startVirtualThread(() -> {
+            // not try-with-resources, closing the sink before a failure is recorded would look like a complete body
+            OutputStream out = pipe.sink();
+            try {
+                writer.writeTo(out);
+                out.close();
+            } catch (Throwable t) {
+                pipe.fail(t);
+            }
+        });
+        return pipe.source();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        writer.writeTo(out);
+    }
+
+    @Override
+    public OptionalLong contentLength() {
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return repeatable;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/*
+ * Labels the delegate with the media type it is written in, such as a codec's content type.
+ */
+public record TypedBody(ResultBody delegate, String type) implements ResultBody {
+
+    @Override
+    public InputStream openStream() {
+        return delegate.openStream();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        delegate.writeTo(out);
+    }
+
+    @Override
+    public OptionalLong contentLength() {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return delegate.isRepeatable();
+    }
+
+    @Override
+    public void release() {
+        delegate.release();
+    }
+
+    @Override
+    public Optional<ContentEncoding> contentEncoding() {
+        return delegate.contentEncoding();
+    }
+
+    @Override
+    public Optional<String> contentType() {
+        return Optional.of(type);
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * A wire format for function outputs. The mapper must be fully configured before the codec is registered, it is shared
+ * by every function using the codec. Results are posted with the codec's content type.
+ */
+public record Codec(String name, String contentType, ObjectMapper mapper) {}
@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Registry of output codecs by name. JSON, CBOR and Smile are built in, the binary formats are smaller and cheaper to
+ * write for numeric heavy outputs. Callers of a function using a binary codec must decode its results with the same
+ * codec, e.g. TestClient.result(jobId, outputType, codec).
+ */
+public final class Codecs {
+    public static final Codec JSON = new Codec("json", "application/json", new ObjectMapper());
+    public static final Codec CBOR = new Codec("cbor", "application/cbor", new ObjectMapper(new CBORFactory()));
+    public static final Codec SMILE =
+            new Codec("smile", "application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+
+    private static final Map<String, Codec> codecs = new ConcurrentHashMap<>(Map.of(
+            JSON.name(), JSON,
+            CBOR.name(), CBOR,
+            SMILE.name(), SMILE));
+
+    /*
+     * Registers an additional codec, e.g. MessagePack through a third party Jackson backend. Replaces any codec
+     * previously registered under the same name.
+     */
+    public static void register(Codec codec) {
+        codecs.put(codec.name(), codec);
+    }
+
+    public static Codec get(String name) {
+        Codec codec = codecs.get(name);
+        if (codec == null) {
+            throw new SafeIllegalArgumentException(
+                    "Unknown codec", SafeArg.of("name", name), SafeArg.of("known", codecs.keySet()));
+        }
+        return codec;
+    }
+
+    private Codecs() {}
+}
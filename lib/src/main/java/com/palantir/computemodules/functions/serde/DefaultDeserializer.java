@@ -15,13 +15,25 @@
  */
 package com.palantir.computemodules.functions.serde;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.IOException;
 
 public final class DefaultDeserializer<I> implements Deserializer<I> {
     private static final ObjectMapper mapper = new ObjectMapper();
 
     @Override
     public I deserialize(Object input, Class<I> typeMarker) {
+        if (input instanceof RawQuery raw) {
+            try (JsonParser parser = raw.createParser(mapper.getFactory())) {
+                return mapper.readValue(parser, typeMarker);
+            } catch (IOException e) {
+                throw new SafeIllegalArgumentException(
+                        "Failed to deserialize query", e, SafeArg.of("type", typeMarker.getName()));
+            }
+        }
         return mapper.convertValue(input, typeMarker);
     }
 }
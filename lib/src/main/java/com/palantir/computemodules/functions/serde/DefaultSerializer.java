@@ -15,24 +15,87 @@
  */
 package com.palantir.computemodules.functions.serde;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.palantir.computemodules.functions.results.Failed;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.palantir.computemodules.functions.results.Ok;
 import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.results.TypedBody;
 import com.palantir.logsafe.Unsafe;
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
 
-public final class DefaultSerializer<O> implements Serializer<O> {
-    private static final ObjectMapper mapper = new ObjectMapper();
+/*
+ * Outputs that are a Stream, Iterator or Flow.Publisher are written element by element while the result is uploaded,
+ * as newline delimited JSON or a sequence of the codec's values, so neither the elements nor their encoding are ever
+ * held in memory all at once. Elements are flushed towards the upload every FLUSH_INTERVAL_MILLIS rather than one by
+ * one, and before waiting on a publisher for its next element. Publishers are only subscribed to once the upload
+ * starts, so they must be cold or wait for a subscriber, a hot publisher drops the elements it emits before then.
+ * Result bodies carry the codec's content type.
+ */
+public final class DefaultSerializer<O> implements StreamingSerializer<O> {
+    private static final long FLUSH_INTERVAL_MILLIS = 5;
+
+    private final ObjectWriter writer;
+    private final String contentType;
+    private final boolean textual;
+
+    public DefaultSerializer() {
+        this(Codecs.JSON);
+    }
+
+    public DefaultSerializer(Codec codec) {
+        this.writer = codec.mapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.contentType = codec.contentType();
+        this.textual = !codec.mapper().getFactory().canHandleBinaryNatively();
+    }
 
-    @Unsafe
     @Override
     public Result serialize(String jobId, O output) {
-        try {
-            return new Ok(jobId, new ByteArrayInputStream(mapper.writeValueAsBytes(output)));
-        } catch (JsonProcessingException exception) {
-            return new Failed(jobId, exception);
+        ResultBody body = Sequences.isSequence(output)
+                ? ResultBody.streamingOnce(new SerializingWriter(out -> serializeSequence(output, out)))
+                : ResultBody.streaming(new SerializingWriter(out -> serialize(output, out)));
+        return new Ok(jobId, new TypedBody(body, contentType));
+    }
+
+    @Unsafe
+    @Override
+    public void serialize(O output, OutputStream out) throws IOException {
+        if (Sequences.isSequence(output)) {
+            serializeSequence(output, out);
+        } else {
+            writer.writeValue(out, output);
+        }
+    }
+
+    private void serializeSequence(Object output, OutputStream out) throws IOException {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+        boolean empty = true;
+        try (Sequences.Elements elements = Sequences.elements(output);
+                SequenceWriter sequence = writer.withRootValueSeparator("\n")
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                        .writeValues(out)) {
+            Iterator<?> iterator = elements.iterator();
+            long lastFlush = System.nanoTime();
+            while (iterator.hasNext()) {
+                sequence.write(iterator.next());
+                empty = false;
+                long now = System.nanoTime();
+                // a publisher with nothing buffered would hold up the elements written so far until it emits again
+                if (now - lastFlush >= flushIntervalNanos || !elements.isReady()) {
+                    sequence.flush();
+                    out.flush();
+                    lastFlush = now;
+                }
+            }
+        }
+        if (textual && !empty) {
+            out.write('\n');
         }
+        out.flush();
     }
 }
@@ -15,6 +15,10 @@
  */
 package com.palantir.computemodules.functions.serde;
 
+/*
+ * Jobs received from the runtime carry their query as a RawQuery. Jobs submitted through the TestClient carry the
+ * submitted object as is.
+ */
 @FunctionalInterface
 public interface Deserializer<I> {
     I deserialize(Object input, Class<I> typeMarker);
@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/*
+ * The undecoded JSON of a job's query, a view over the bytes the job was received in. Deserializers should parse
+ * this directly into the function's input type rather than building an intermediate tree.
+ */
+public final class RawQuery {
+    private final ByteBuffer bytes;
+
+    private RawQuery(ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    /*
+     * Does not copy, the provided array must not be modified afterwards.
+     */
+    public static RawQuery of(byte[] bytes, int offset, int length) {
+        return new RawQuery(ByteBuffer.wrap(bytes, offset, length).slice());
+    }
+
+    /*
+     * Does not copy, the remaining bytes of the provided buffer are used.
+     */
+    public static RawQuery of(ByteBuffer bytes) {
+        return new RawQuery(bytes.slice());
+    }
+
+    public int length() {
+        return bytes.remaining();
+    }
+
+    /*
+     * A read only view of the query bytes.
+     */
+    public ByteBuffer buffer() {
+        return bytes.asReadOnlyBuffer();
+    }
+
+    public InputStream openStream() {
+        if (bytes.hasArray()) {
+            return new ByteArrayInputStream(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        }
+        return new ByteBufferBackedInputStream(bytes.duplicate());
+    }
+
+    /*
+     * Reads straight from the query bytes, which may be a mapping of a spilled job rather than heap memory.
+     */
+    public ReadableByteChannel openChannel() {
+        return new BufferChannel(bytes.duplicate());
+    }
+
+    public JsonParser createParser(JsonFactory factory) throws IOException {
+        if (bytes.hasArray()) {
+            return factory.createParser(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        }
+        return factory.createParser(openStream());
+    }
+
+    @Override
+    public String toString() {
+        return "RawQuery{length=" + length() + "}";
+    }
+
+    private static final class BufferChannel implements ReadableByteChannel {
+        private final ByteBuffer remaining;
+        private boolean open = true;
+
+        BufferChannel(ByteBuffer remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!remaining.hasRemaining()) {
+                return -1;
+            }
+            int length = Math.min(dst.remaining(), remaining.remaining());
+            dst.put(remaining.slice(remaining.position(), length));
+            remaining.position(remaining.position() + length);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
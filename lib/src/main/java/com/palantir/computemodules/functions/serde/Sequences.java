@@ -0,0 +1,152 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+import java.util.stream.BaseStream;
+
+/*
+ * Outputs that are produced element by element: a Stream, an Iterator or a Flow.Publisher. Publishers are drained
+ * with bounded demand, so a fast publisher cannot run ahead of the upload. They are only subscribed to once the upload
+ * starts, so they must be cold or wait for a subscriber, a hot publisher such as a SubmissionPublisher drops whatever
+ * it submits before then.
+ */
+final class Sequences {
+    private static final int PREFETCH = 16;
+
+    static boolean isSequence(Object output) {
+        return output instanceof BaseStream || output instanceof Iterator || output instanceof Flow.Publisher;
+    }
+
+    /*
+     * Closing the elements closes the stream or cancels the publisher's subscription, whether or not they were
+     * consumed to the end.
+     */
+    static Elements elements(Object output) {
+        return switch (output) {
+            case BaseStream<?, ?> stream -> new Elements(stream.iterator(), () -> true, stream::close);
+            case Iterator<?> iterator -> new Elements(iterator, () -> true, () -> {});
+            case Flow.Publisher<?> publisher -> {
+                PublisherIterator<?> iterator = new PublisherIterator<>(publisher);
+                yield new Elements(iterator, iterator::isReady, iterator::cancel);
+            }
+            default -> throw new SafeIllegalArgumentException("Output is not a sequence");
+        };
+    }
+
+    /*
+     * ready is false when the iterator would block waiting for the next element, so that output written so far can be
+     * flushed first. Streams and iterators give no such hint and are always ready.
+     */
+    record Elements(Iterator<?> iterator, BooleanSupplier ready, Runnable onClose) implements AutoCloseable {
+        boolean isReady() {
+            return ready.getAsBoolean();
+        }
+
+        @Override
+        public void close() {
+            onClose.run();
+        }
+    }
+
+    private static final class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T> {
+        private static final Object COMPLETE = new Object();
+
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+        private Object next = null;
+        private int consumed = 0;
+
+        PublisherIterator(Flow.Publisher<T> publisher) {
+            publisher.subscribe(this);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription newSubscription) {
+            this.subscription = newSubscription;
+            newSubscription.request(PREFETCH);
+        }
+
+        @Override
+        public void onNext(T item) {
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(new Failure(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = signals.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SafeRuntimeException("Interrupted waiting for the output publisher", e);
+                }
+            }
+            if (next instanceof Failure failure) {
+                throw new SafeRuntimeException("Output publisher failed", failure.cause());
+            }
+            return next != COMPLETE;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = (T) next;
+            next = null;
+            // top demand back up once half the prefetched elements have been written
+            if (++consumed == PREFETCH / 2) {
+                consumed = 0;
+                subscription.request(PREFETCH / 2);
+            }
+            return item;
+        }
+
+        boolean isReady() {
+            return next != null || !signals.isEmpty();
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private record Failure(Throwable cause) {}
+    }
+
+    private Sequences() {}
+}
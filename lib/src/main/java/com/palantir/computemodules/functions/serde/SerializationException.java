@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import com.google.common.base.Throwables;
+import java.io.IOException;
+import java.util.Optional;
+
+/*
+ * Thrown from a result body's writer when the output could not be serialized, as opposed to the body failing to reach
+ * the runtime. Uploads that fail with one are not retried, the cause is posted as the job's failure instead.
+ */
+public final class SerializationException extends IOException {
+
+    public SerializationException(Exception cause) {
+        super("Failed to serialize output", cause);
+    }
+
+    /*
+     * The exception the serializer failed with.
+     */
+    public Exception failure() {
+        return (Exception) getCause();
+    }
+
+    /*
+     * The SerializationException in the throwable's causal chain, if any. Transports wrap failures of the body they
+     * were writing in their own exceptions.
+     */
+    public static Optional<SerializationException> in(Throwable throwable) {
+        return Throwables.getCausalChain(throwable).stream()
+                .filter(SerializationException.class::isInstance)
+                .map(SerializationException.class::cast)
+                .findFirst();
+    }
+}
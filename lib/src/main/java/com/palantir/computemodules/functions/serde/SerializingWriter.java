@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import com.palantir.computemodules.functions.results.BodyWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+ * Rethrows anything the serializer fails with as a SerializationException, unless it is the failure of the stream
+ * being written to, which is left as is so the upload can be retried.
+ */
+record SerializingWriter(BodyWriter serializer) implements BodyWriter {
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        SinkOutputStream sink = new SinkOutputStream(out);
+        try {
+            serializer.writeTo(sink);
+        } catch (IOException e) {
+            if (sink.failed) {
+                throw e;
+            }
+            throw new SerializationException(e);
+        } catch (RuntimeException e) {
+            throw new SerializationException(e);
+        }
+    }
+
+    private static final class SinkOutputStream extends FilterOutputStream {
+        private boolean failed = false;
+
+        private SinkOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            try {
+                out.write(value);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            try {
+                out.write(bytes, offset, length);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.close();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+}
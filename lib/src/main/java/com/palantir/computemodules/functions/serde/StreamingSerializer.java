@@ -0,0 +1,37 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.results.ResultBody;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+ * A Serializer that writes the output into the result body as it is uploaded, instead of materializing it upfront.
+ * Peak memory is bounded by the transport's buffers rather than by the size of the serialized output. Serialization
+ * failures surface when the result is posted, as a SerializationException, and are posted as the job's failure.
+ */
+public interface StreamingSerializer<O> extends Serializer<O> {
+
+    void serialize(O output, OutputStream out) throws IOException;
+
+    @Override
+    default Result serialize(String jobId, O output) {
+        return new Ok(jobId, ResultBody.streaming(new SerializingWriter(out -> serialize(output, out))));
+    }
+}
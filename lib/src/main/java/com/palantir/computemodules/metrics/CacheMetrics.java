@@ -0,0 +1,31 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+public record CacheMetrics(Counter hits, Counter misses, Counter coalesced, Counter evictions) {
+
+    public static CacheMetrics noop() {
+        return of(MetricsRegistry.noop(), "");
+    }
+
+    public static CacheMetrics of(MetricsRegistry registry, String function) {
+        return new CacheMetrics(
+                registry.counter(MetricName.of("computemodule.cache.hits", "function", function)),
+                registry.counter(MetricName.of("computemodule.cache.misses", "function", function)),
+                registry.counter(MetricName.of("computemodule.cache.coalesced", "function", function)),
+                registry.counter(MetricName.of("computemodule.cache.evictions", "function", function)));
+    }
+}
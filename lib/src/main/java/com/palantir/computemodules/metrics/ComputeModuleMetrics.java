@@ -0,0 +1,148 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/*
+ * The metrics recorded by a ComputeModule:
+ *  - computemodule.poll: getJob round trip time, with received, empty and error counters
+ *  - computemodule.poll.empty.ratio: exponentially weighted share of recent polls that were empty
+ *  - computemodule.job.queued: time from a job being received until it starts executing
+ *  - computemodule.jobs.inflight: jobs received whose results have not been posted yet
+ *  - computemodule.function.queued: jobs waiting for one of the function's concurrency slots
+ *  - computemodule.batch.size: number of jobs in each batch handed to a batch function
+ *  - computemodule.function.{deserialize,execute,serialize}: see FunctionMetrics
+ *  - computemodule.result.write and computemodule.result.bytes: time spent writing and size of each result body
+ *  - computemodule.result.post: upload time, with a failure counter
+ *  - computemodule.job.timeouts: jobs that passed their timeout, whether queued or running
+ *  - computemodule.cache.{hits,misses,coalesced,evictions}: see CacheMetrics
+ *  - computemodule.admission.paused and computemodule.admission.heap.usage: whether job intake is paused for memory
+ *    pressure, and the fraction of the heap in use after the last collection
+ *  - computemodule.buffers.{hits,misses,pooled}: buffers served from and allocated by each BufferPool, and how many
+ *    it currently holds
+ */
+public final class ComputeModuleMetrics {
+    private static final double EMPTY_RATIO_DECAY = 0.05;
+
+    private final MetricsRegistry registry;
+    private final Timer poll;
+    private final Counter pollReceived;
+    private final Counter pollEmpty;
+    private final Counter pollErrors;
+    private final Timer queued;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer post;
+    private final Counter postFailures;
+    private final Map<String, FunctionMetrics> functions = new ConcurrentHashMap<>();
+    private final Map<String, Timer> resultWrite = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> resultBytes = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> batchSize = new ConcurrentHashMap<>();
+    private final Map<String, Counter> timeouts = new ConcurrentHashMap<>();
+    private volatile double emptyRatio = 0;
+
+    public ComputeModuleMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+        this.poll = registry.timer(MetricName.of("computemodule.poll"));
+        this.pollReceived = registry.counter(MetricName.of("computemodule.poll.received"));
+        this.pollEmpty = registry.counter(MetricName.of("computemodule.poll.empty"));
+        this.pollErrors = registry.counter(MetricName.of("computemodule.poll.errors"));
+        this.queued = registry.timer(MetricName.of("computemodule.job.queued"));
+        this.post = registry.timer(MetricName.of("computemodule.result.post"));
+        this.postFailures = registry.counter(MetricName.of("computemodule.result.post.failures"));
+        registry.gauge(MetricName.of("computemodule.jobs.inflight"), inFlight::get);
+        registry.gauge(MetricName.of("computemodule.poll.empty.ratio"), () -> emptyRatio);
+    }
+
+    public void polled(long durationNanos, boolean received) {
+        poll.update(durationNanos);
+        (received ? pollReceived : pollEmpty).inc();
+        // racy read-modify-write, an occasionally lost update does not matter for a smoothed ratio
+        emptyRatio += EMPTY_RATIO_DECAY * ((received ? 0 : 1) - emptyRatio);
+    }
+
+    public void pollFailed() {
+        pollErrors.inc();
+    }
+
+    public Timer queued() {
+        return queued;
+    }
+
+    public void jobStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void jobFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    public FunctionMetrics function(String function) {
+        return functions.computeIfAbsent(function, name -> FunctionMetrics.of(registry, name));
+    }
+
+    public Histogram batchSize(String function) {
+        return batchSize.computeIfAbsent(
+                function, name -> registry.histogram(MetricName.of("computemodule.batch.size", "function", name)));
+    }
+
+    public CacheMetrics cache(String function) {
+        return CacheMetrics.of(registry, function);
+    }
+
+    public void functionQueue(String function, IntSupplier queued) {
+        registry.gauge(MetricName.of("computemodule.function.queued", "function", function), queued::getAsInt);
+    }
+
+    public void admission(BooleanSupplier paused, DoubleSupplier heapUsage) {
+        registry.gauge(MetricName.of("computemodule.admission.paused"), () -> paused.getAsBoolean() ? 1 : 0);
+        registry.gauge(MetricName.of("computemodule.admission.heap.usage"), heapUsage);
+    }
+
+    public void bufferPool(String pool, LongSupplier hits, LongSupplier misses, IntSupplier pooled) {
+        registry.gauge(MetricName.of("computemodule.buffers.hits", "pool", pool), hits::getAsLong);
+        registry.gauge(MetricName.of("computemodule.buffers.misses", "pool", pool), misses::getAsLong);
+        registry.gauge(MetricName.of("computemodule.buffers.pooled", "pool", pool), pooled::getAsInt);
+    }
+
+    public Timer resultWrite(String function) {
+        return resultWrite.computeIfAbsent(
+                function, name -> registry.timer(MetricName.of("computemodule.result.write", "function", name)));
+    }
+
+    public Histogram resultBytes(String function) {
+        return resultBytes.computeIfAbsent(
+                function, name -> registry.histogram(MetricName.of("computemodule.result.bytes", "function", name)));
+    }
+
+    public Counter timeouts(String function) {
+        return timeouts.computeIfAbsent(
+                function, name -> registry.counter(MetricName.of("computemodule.job.timeouts", "function", name)));
+    }
+
+    public void posted(long durationNanos, boolean success) {
+        post.update(durationNanos);
+        if (!success) {
+            postFailures.inc();
+        }
+    }
+}
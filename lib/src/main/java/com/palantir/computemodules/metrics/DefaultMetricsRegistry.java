@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/*
+ * An in memory registry, timers and histograms are Log2Histograms. Registering the same name with a different kind
+ * of metric is an error.
+ */
+public final class DefaultMetricsRegistry implements MetricsRegistry {
+    private final Map<MetricName, Object> metrics = new ConcurrentHashMap<>();
+    private final Map<MetricName, MetricKind> kinds = new ConcurrentHashMap<>();
+
+    public enum MetricKind {
+        COUNTER,
+        TIMER,
+        HISTOGRAM,
+        GAUGE
+    }
+
+    @Override
+    public Counter counter(MetricName name) {
+        return register(name, MetricKind.COUNTER, DefaultCounter.class, DefaultCounter::new);
+    }
+
+    @Override
+    public Timer timer(MetricName name) {
+        return register(name, MetricKind.TIMER, Log2Histogram.class, Log2Histogram::new);
+    }
+
+    @Override
+    public Histogram histogram(MetricName name) {
+        return register(name, MetricKind.HISTOGRAM, Log2Histogram.class, Log2Histogram::new);
+    }
+
+    @Override
+    public void gauge(MetricName name, DoubleSupplier value) {
+        kinds.put(name, MetricKind.GAUGE);
+        metrics.put(name, value);
+    }
+
+    public Map<MetricName, MetricKind> kinds() {
+        return Collections.unmodifiableMap(kinds);
+    }
+
+    /*
+     * The registered metric, a DefaultCounter, Log2Histogram or DoubleSupplier depending on its kind.
+     */
+    public Object get(MetricName name) {
+        return metrics.get(name);
+    }
+
+    public static final class DefaultCounter implements Counter {
+        private final LongAdder count = new LongAdder();
+
+        private DefaultCounter() {}
+
+        @Override
+        public void inc(long delta) {
+            count.add(delta);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+    }
+
+    private <T> T register(MetricName name, MetricKind kind, Class<T> type, Supplier<T> factory) {
+        Object metric = metrics.computeIfAbsent(name, unused -> {
+            kinds.put(name, kind);
+            return factory.get();
+        });
+        if (kinds.get(name) != kind || !type.isInstance(metric)) {
+            throw new SafeIllegalArgumentException(
+                    "Metric already registered as a different kind",
+                    SafeArg.of("name", name.name()),
+                    SafeArg.of("kind", kinds.get(name)));
+        }
+        return type.cast(metric);
+    }
+}
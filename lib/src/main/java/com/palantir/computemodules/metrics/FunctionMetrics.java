@@ -0,0 +1,36 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+/*
+ * Stage timings recorded by FunctionRunner. Serialize only covers work done upfront by the serializer and is not
+ * recorded for streaming serializers, output written while the result is uploaded is timed by the result.write timer
+ * instead. The function's name also labels the JFR events FunctionRunner emits.
+ */
+public record FunctionMetrics(String function, Timer deserialize, Timer execute, Timer serialize) {
+
+    public static FunctionMetrics noop() {
+        return of(MetricsRegistry.noop(), "");
+    }
+
+    public static FunctionMetrics of(MetricsRegistry registry, String function) {
+        return new FunctionMetrics(
+                function,
+                registry.timer(MetricName.of("computemodule.function.deserialize", "function", function)),
+                registry.timer(MetricName.of("computemodule.function.execute", "function", function)),
+                registry.timer(MetricName.of("computemodule.function.serialize", "function", function)));
+    }
+}
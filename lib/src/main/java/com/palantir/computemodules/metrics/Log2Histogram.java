@@ -0,0 +1,90 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * A lock free histogram with power of two buckets, bucket i counts values in [2^(i-1), 2^i). Coarse, but cheap enough
+ * to record on every job and precise enough to tell microseconds from milliseconds from seconds.
+ */
+public final class Log2Histogram implements Histogram, Timer {
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    Log2Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void update(long value) {
+        long clamped = Math.max(0, value);
+        buckets[bucket(clamped)].increment();
+        count.increment();
+        sum.add(clamped);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    /*
+     * Number of values below 2^bucket.
+     */
+    public long countBelow(int bucket) {
+        long below = 0;
+        for (int i = 0; i < Math.min(bucket + 1, BUCKETS); i++) {
+            below += buckets[i].sum();
+        }
+        return below;
+    }
+
+    /*
+     * Upper bound of the bucket holding the value at the given quantile, within a factor of two of the true value.
+     */
+    public long quantile(double quantile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= Math.max(rank, 1)) {
+                return upperBound(i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    static long upperBound(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    private static int bucket(long value) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/*
+ * Where the module records its metrics. Implement this to bridge to a metrics library of your choice, or use the
+ * DefaultMetricsRegistry which can be exposed in the Prometheus text format. Metrics are requested once and held on
+ * to, implementations should return the same metric for the same name.
+ */
+public interface MetricsRegistry {
+
+    Counter counter(MetricName name);
+
+    Timer timer(MetricName name);
+
+    Histogram histogram(MetricName name);
+
+    void gauge(MetricName name, DoubleSupplier value);
+
+    static MetricsRegistry noop() {
+        return NoopMetricsRegistry.INSTANCE;
+    }
+}
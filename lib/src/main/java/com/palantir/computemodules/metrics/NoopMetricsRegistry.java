@@ -0,0 +1,44 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+import java.util.function.DoubleSupplier;
+
+enum NoopMetricsRegistry implements MetricsRegistry {
+    INSTANCE;
+
+    private static final Counter COUNTER = count -> {};
+    private static final Timer TIMER = durationNanos -> {};
+    private static final Histogram HISTOGRAM = value -> {};
+
+    @Override
+    public Counter counter(MetricName name) {
+        return COUNTER;
+    }
+
+    @Override
+    public Timer timer(MetricName name) {
+        return TIMER;
+    }
+
+    @Override
+    public Histogram histogram(MetricName name) {
+        return HISTOGRAM;
+    }
+
+    @Override
+    public void gauge(MetricName name, DoubleSupplier value) {}
+}
@@ -0,0 +1,180 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+import com.palantir.computemodules.metrics.DefaultMetricsRegistry.DefaultCounter;
+import com.palantir.computemodules.metrics.DefaultMetricsRegistry.MetricKind;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.function.DoubleSupplier;
+
+/*
+ * Serves the metrics of a DefaultMetricsRegistry in the Prometheus text format at /metrics. Dots in metric names are
+ * replaced by underscores, timers are exported in seconds.
+ */
+public final class PrometheusEndpoint implements AutoCloseable {
+    // 2^10ns ~ 1us up to 2^37ns ~ 137s
+    private static final int MIN_TIMER_BUCKET = 10;
+    private static final int MAX_TIMER_BUCKET = 37;
+    // 2^4 = 16 bytes up to 2^34 = 16 GiB
+    private static final int MIN_HISTOGRAM_BUCKET = 4;
+    private static final int MAX_HISTOGRAM_BUCKET = 34;
+
+    private final HttpServer server;
+
+    private PrometheusEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    public static PrometheusEndpoint start(DefaultMetricsRegistry registry, InetSocketAddress address) {
+        HttpServer server;
+        try {
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/metrics", exchange -> serve(registry, exchange));
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        return new PrometheusEndpoint(server);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void serve(DefaultMetricsRegistry registry, HttpExchange exchange) throws IOException {
+        byte[] body = render(registry).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public static String render(DefaultMetricsRegistry registry) {
+        Map<MetricName, MetricKind> sorted =
+                new TreeMap<>(Comparator.comparing(MetricName::name).thenComparing(name -> labels(name, null, null)));
+        sorted.putAll(registry.kinds());
+
+        StringBuilder out = new StringBuilder();
+        String previous = null;
+        for (Map.Entry<MetricName, MetricKind> entry : sorted.entrySet()) {
+            MetricName name = entry.getKey();
+            Object metric = registry.get(name);
+            String base = sanitize(name.name());
+            switch (entry.getValue()) {
+                case COUNTER -> {
+                    previous = type(out, previous, base + "_total", "counter");
+                    sample(out, base + "_total", labels(name, null, null), ((DefaultCounter) metric).count());
+                }
+                case GAUGE -> {
+                    previous = type(out, previous, base, "gauge");
+                    sample(out, base, labels(name, null, null), ((DoubleSupplier) metric).getAsDouble());
+                }
+                case TIMER -> {
+                    previous = type(out, previous, base + "_seconds", "histogram");
+                    histogram(
+                            out,
+                            base + "_seconds",
+                            name,
+                            (Log2Histogram) metric,
+                            1e-9,
+                            MIN_TIMER_BUCKET,
+                            MAX_TIMER_BUCKET);
+                }
+                case HISTOGRAM -> {
+                    previous = type(out, previous, base, "histogram");
+                    histogram(
+                            out, base, name, (Log2Histogram) metric, 1, MIN_HISTOGRAM_BUCKET, MAX_HISTOGRAM_BUCKET);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void histogram(
+            StringBuilder out, String base, MetricName name, Log2Histogram histogram, double scale, int min, int max) {
+        for (int bucket = min; bucket <= max; bucket++) {
+            String le = Double.toString((Log2Histogram.upperBound(bucket) + 1) * scale);
+            sample(out, base + "_bucket", labels(name, "le", le), histogram.countBelow(bucket));
+        }
+        sample(out, base + "_bucket", labels(name, "le", "+Inf"), histogram.count());
+        sample(out, base + "_sum", labels(name, null, null), histogram.sum() * scale);
+        sample(out, base + "_count", labels(name, null, null), histogram.count());
+    }
+
+    private static String type(StringBuilder out, String previous, String name, String type) {
+        if (!name.equals(previous)) {
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+        return name;
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String labels(MetricName name, String extraKey, String extraValue) {
+        Map<String, String> labels = new TreeMap<>(name.tags());
+        if (extraKey != null) {
+            labels.put(extraKey, extraValue);
+        }
+        if (labels.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder("{");
+        labels.forEach((key, value) -> {
+            if (out.length() > 1) {
+                out.append(',');
+            }
+            out.append(sanitize(key)).append("=\"").append(escape(value)).append('"');
+        });
+        return out.append('}').toString();
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.polling;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Backs off exponentially while the runtime has no jobs or is failing, and resets as soon as a job arrives so the
+ * first job after a quiet period is picked up with at most maxIdleDelay of added latency.
+ *
+ * Runtimes that long poll hold the request open until a job is available. An empty poll that took at least
+ * longPollThreshold is treated as such, and the next poll is issued immediately since the runtime already waited.
+ */
+public final class ExponentialBackoffPollingStrategy implements PollingStrategy {
+
+    private final Duration initialIdleDelay;
+    private final Duration maxIdleDelay;
+    private final Duration initialErrorDelay;
+    private final Duration maxErrorDelay;
+    private final double jitter;
+    private final Duration longPollThreshold;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Backoff newBackoff() {
+        return new ExponentialBackoff();
+    }
+
+    private final class ExponentialBackoff implements Backoff {
+        private long idleDelayNanos = 0;
+        private long errorDelayNanos = 0;
+
+        @Override
+        public void onJob() {
+            idleDelayNanos = 0;
+            errorDelayNanos = 0;
+        }
+
+        @Override
+        public Duration onEmpty(Duration pollDuration) {
+            errorDelayNanos = 0;
+            if (pollDuration.compareTo(longPollThreshold) >= 0) {
+                idleDelayNanos = 0;
+                return Duration.ZERO;
+            }
+            idleDelayNanos = next(idleDelayNanos, initialIdleDelay, maxIdleDelay);
+            return withJitter(idleDelayNanos);
+        }
+
+        @Override
+        public Duration onError(Exception error) {
+            errorDelayNanos = next(errorDelayNanos, initialErrorDelay, maxErrorDelay);
+            return withJitter(errorDelayNanos);
+        }
+    }
+
+    private static long next(long currentNanos, Duration initial, Duration max) {
+        if (currentNanos == 0) {
+            return Math.min(initial.toNanos(), max.toNanos());
+        }
+        return currentNanos >= max.toNanos() / 2 ? max.toNanos() : currentNanos * 2;
+    }
+
+    private Duration withJitter(long delayNanos) {
+        double factor = 1 - jitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofNanos((long) (delayNanos * factor));
+    }
+
+    private ExponentialBackoffPollingStrategy(
+            Duration initialIdleDelay,
+            Duration maxIdleDelay,
+            Duration initialErrorDelay,
+            Duration maxErrorDelay,
+            double jitter,
+            Duration longPollThreshold) {
+        this.initialIdleDelay = initialIdleDelay;
+        this.maxIdleDelay = maxIdleDelay;
+        this.initialErrorDelay = initialErrorDelay;
+        this.maxErrorDelay = maxErrorDelay;
+        this.jitter = jitter;
+        this.longPollThreshold = longPollThreshold;
+    }
+
+    public static final class Builder {
+        private Duration initialIdleDelay = Duration.ofMillis(5);
+        private Duration maxIdleDelay = Duration.ofMillis(250);
+        private Duration initialErrorDelay = Duration.ofMillis(100);
+        private Duration maxErrorDelay = Duration.ofSeconds(10);
+        private double jitter = 0.2;
+        private Duration longPollThreshold = Duration.ofSeconds(1);
+
+        private Builder() {}
+
+        /*
+         * Delay after the first empty poll, doubled on each consecutive empty poll up to maxIdleDelay.
+         */
+        public Builder withIdleDelay(Duration initial, Duration max) {
+            checkDelays(initial, max);
+            this.initialIdleDelay = initial;
+            this.maxIdleDelay = max;
+            return this;
+        }
+
+        /*
+         * Delay after the first failed poll, doubled on each consecutive failure up to maxErrorDelay.
+         */
+        public Builder withErrorDelay(Duration initial, Duration max) {
+            checkDelays(initial, max);
+            this.initialErrorDelay = initial;
+            this.maxErrorDelay = max;
+            return this;
+        }
+
+        /*
+         * Fraction of each delay that is randomized away, spreads out pollers that started backing off together.
+         */
+        public Builder withJitter(double newJitter) {
+            Preconditions.checkArgument(
+                    newJitter >= 0 && newJitter <= 1, "Jitter must be within [0, 1]", SafeArg.of("jitter", newJitter));
+            this.jitter = newJitter;
+            return this;
+        }
+
+        /*
+         * Empty polls that took at least this long are assumed to have been long polls.
+         */
+        public Builder withLongPollThreshold(Duration newLongPollThreshold) {
+            this.longPollThreshold = newLongPollThreshold;
+            return this;
+        }
+
+        public ExponentialBackoffPollingStrategy build() {
+            return new ExponentialBackoffPollingStrategy(
+                    initialIdleDelay, maxIdleDelay, initialErrorDelay, maxErrorDelay, jitter, longPollThreshold);
+        }
+
+        private static void checkDelays(Duration initial, Duration max) {
+            Preconditions.checkArgument(
+                    !initial.isNegative() && initial.compareTo(max) <= 0,
+                    "Initial delay must be non negative and no larger than the max delay",
+                    SafeArg.of("initial", initial),
+                    SafeArg.of("max", max));
+        }
+    }
+}
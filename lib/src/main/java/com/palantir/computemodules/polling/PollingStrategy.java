@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.polling;
+
+import java.time.Duration;
+
+/*
+ * Decides how long a poller waits before its next getJob request. Each poller owns its own Backoff, so
+ * implementations of Backoff do not need to be thread safe.
+ */
+public interface PollingStrategy {
+
+    Backoff newBackoff();
+
+    /*
+     * The default strategy, exponential backoff with jitter on both idle polls and errors.
+     */
+    static PollingStrategy exponential() {
+        return ExponentialBackoffPollingStrategy.builder().build();
+    }
+
+    /*
+     * Polls again immediately after an empty poll. Only useful when the client blocks until a job is available.
+     */
+    static PollingStrategy immediate() {
+        return () -> new Backoff() {
+            @Override
+            public void onJob() {}
+
+            @Override
+            public Duration onEmpty(Duration pollDuration) {
+                return Duration.ZERO;
+            }
+
+            @Override
+            public Duration onError(Exception error) {
+                return Duration.ZERO;
+            }
+        };
+    }
+
+    interface Backoff {
+
+        /*
+         * Called when a job was received, the next poll is issued immediately.
+         */
+        void onJob();
+
+        /*
+         * Called when no job was available. pollDuration is how long the request took, which tells apart a runtime
+         * that answers immediately from one that holds the request open until a job arrives.
+         */
+        Duration onEmpty(Duration pollDuration);
+
+        /*
+         * Called when the poll failed.
+         */
+        Duration onError(Exception error);
+    }
+}
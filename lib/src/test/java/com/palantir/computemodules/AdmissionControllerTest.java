@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControllerTest {
+
+    @Test
+    void test_pauses_above_high_water_mark_until_below_low_water_mark() throws InterruptedException {
+        AdmissionController admission = new AdmissionController(0.9, 0.75);
+        admission.awaitAdmission();
+
+        admission.jobStarted();
+        admission.update(0.95);
+        assertTrue(admission.isPaused());
+        CountDownLatch admitted = new CountDownLatch(1);
+        Thread poller = new Thread(() -> {
+            try {
+                admission.awaitAdmission();
+                admitted.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        poller.setDaemon(true);
+        poller.start();
+
+        admission.update(0.8);
+        assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+        assertTrue(admission.isPaused());
+
+        admission.update(0.7);
+        assertTrue(admitted.await(10, TimeUnit.SECONDS));
+        assertFalse(admission.isPaused());
+        assertEquals(admission.heapUsage(), 0.7);
+    }
+
+    @Test
+    void test_admits_while_no_jobs_are_in_flight() throws InterruptedException {
+        AdmissionController admission = new AdmissionController(0.9, 0.75);
+        admission.update(0.95);
+        assertTrue(admission.isPaused());
+        admission.awaitAdmission();
+
+        admission.jobStarted();
+        CountDownLatch admitted = new CountDownLatch(1);
+        Thread poller = new Thread(() -> {
+            try {
+                admission.awaitAdmission();
+                admitted.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        poller.setDaemon(true);
+        poller.start();
+        assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+
+        admission.jobFinished();
+        assertTrue(admitted.await(1, TimeUnit.SECONDS));
+        assertTrue(admission.isPaused());
+    }
+}
@@ -16,15 +16,37 @@
 package com.palantir.computemodules;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.computemodules.client.TestClient;
+import com.palantir.computemodules.functions.BatchOptions;
 import com.palantir.computemodules.functions.Context;
+import com.palantir.computemodules.functions.FunctionOptions;
+import com.palantir.computemodules.functions.results.BufferPool;
+import com.palantir.computemodules.functions.serde.Codecs;
+import com.palantir.computemodules.metrics.DefaultMetricsRegistry;
+import com.palantir.computemodules.metrics.DefaultMetricsRegistry.DefaultCounter;
+import com.palantir.computemodules.metrics.MetricName;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -66,6 +88,20 @@ class ComputeModuleTest {
         assertEquals(error.contains("Requested function not found"), true);
     }
 
+    @Test
+    void test_posted_result_can_be_read_after_another_job_has_run() throws IOException {
+        // error payloads are pooled, with the pool drained the second job would reuse the first one's buffer
+        while (BufferPool.heap().pooled() > 0) {
+            BufferPool.heap().acquire();
+        }
+        InputStream first = testClient.execute("error", 1);
+        InputStream second = testClient.execute("error", 2);
+        String secondError = new String(second.readAllBytes(), StandardCharsets.UTF_8);
+        String firstError = new String(first.readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(firstError.contains("Intentionally throwing: 1"), firstError);
+        assertTrue(secondError.contains("Intentionally throwing: 2"), secondError);
+    }
+
     @Test
     void test_user_function_that_throws() throws IOException {
         InputStream result = testClient.execute("error", 2);
@@ -73,6 +109,391 @@ class ComputeModuleTest {
         assertEquals(error.contains("Intentionally throwing: 2"), true);
     }
 
+    @Test
+    void test_max_in_flight_jobs_bounds_concurrency() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        (Context context, Integer input) -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            try {
+                                Thread.sleep(50);
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                            running.decrementAndGet();
+                            return input;
+                        },
+                        Integer.class,
+                        Integer.class,
+                        "slow")
+                .withClient(client)
+                .withPollers(4)
+                .withMaxInFlightJobs(2)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        List<String> jobs = IntStream.range(0, 8)
+                .mapToObj(i -> client.submit("slow", i))
+                .toList();
+        for (int i = 0; i < jobs.size(); i++) {
+            assertEquals(client.result(jobs.get(i), Integer.class), i);
+        }
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void test_function_max_concurrency_queues_per_function() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        (Context context, Integer input) -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                            running.decrementAndGet();
+                            return input;
+                        },
+                        Integer.class,
+                        Integer.class,
+                        "blocking",
+                        FunctionOptions.builder()
+                                .withExecutionMode(FunctionOptions.ExecutionMode.PLATFORM_POOL)
+                                .withMaxConcurrency(1)
+                                .build())
+                .add(ComputeModuleTest::dub, Integer.class, Integer.class, "dub")
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        List<String> jobs = IntStream.range(0, 3)
+                .mapToObj(i -> client.submit("blocking", i))
+                .toList();
+        assertEquals(client.execute("dub", 2, Integer.class), 4);
+        release.countDown();
+        for (int i = 0; i < jobs.size(); i++) {
+            assertEquals(client.result(jobs.get(i), Integer.class), i);
+        }
+        assertEquals(maxRunning.get(), 1);
+    }
+
+    @Test
+    void test_batch_function_isolates_failing_items() throws IOException {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        Set<String> jobIds = ConcurrentHashMap.newKeySet();
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .addBatch(
+                        (List<Context> contexts, List<Integer> inputs) -> {
+                            batchSizes.add(inputs.size());
+                            contexts.forEach(context -> jobIds.add(context.jobId()));
+                            if (inputs.contains(13)) {
+                                throw new RuntimeException("Unlucky: 13");
+                            }
+                            return inputs.stream().map(i -> i * 2).toList();
+                        },
+                        Integer.class,
+                        Integer.class,
+                        "batchDub",
+                        BatchOptions.builder()
+                                .withMaxBatchSize(4)
+                                .withMaxLinger(Duration.ofSeconds(1))
+                                .withFailureIsolation(true)
+                                .build())
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        List<String> jobs = IntStream.of(1, 2, 13, 4)
+                .mapToObj(i -> client.submit("batchDub", i))
+                .toList();
+        assertEquals(client.result(jobs.get(0), Integer.class), 2);
+        assertEquals(client.result(jobs.get(1), Integer.class), 4);
+        String error = new String(client.result(jobs.get(2)).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(error.contains("Unlucky: 13"));
+        assertEquals(client.result(jobs.get(3), Integer.class), 8);
+        assertEquals(batchSizes, List.of(4, 1, 1, 1, 1));
+        assertEquals(jobIds, Set.copyOf(jobs));
+    }
+
+    @Test
+    void test_function_with_binary_output_codec() {
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        ComputeModuleTest::mult,
+                        Event.class,
+                        Integer.class,
+                        "mult",
+                        FunctionOptions.builder().withOutputCodec(Codecs.CBOR).build())
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        String job = client.submit("mult", new Event(6, 7));
+        assertEquals(client.result(job, Integer.class, Codecs.get("cbor")), 42);
+    }
+
+    @Test
+    void test_warmup_only_runs_sample_queries_without_polling() {
+        List<Event> seen = new CopyOnWriteArrayList<>();
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        (Context context, Event event) -> {
+                            seen.add(event);
+                            return mult(context, event);
+                        },
+                        Event.class,
+                        Integer.class,
+                        "mult")
+                .withWarmup("mult", "{\"x\":2,\"y\":3}", "{\"x\":4,\"y\":5}")
+                .withWarmupIterations(3)
+                .build();
+
+        System.setProperty(ComputeModule.WARMUP_ONLY_PROPERTY, "true");
+        try {
+            module.start();
+        } finally {
+            System.clearProperty(ComputeModule.WARMUP_ONLY_PROPERTY);
+        }
+        assertEquals(seen.size(), 6);
+        assertTrue(seen.contains(new Event(4, 5)));
+    }
+
+    @Test
+    void test_warmup_escapes_function_names_in_the_envelope() {
+        List<String> seen = new CopyOnWriteArrayList<>();
+        String name = "hello\",\"query\":\"injected\"}";
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        (Context context, String input) -> {
+                            seen.add(input);
+                            return hello(context, input);
+                        },
+                        String.class,
+                        String.class,
+                        name)
+                .withWarmup(name, "\"sample\"")
+                .withWarmupIterations(1)
+                .build();
+
+        System.setProperty(ComputeModule.WARMUP_ONLY_PROPERTY, "true");
+        try {
+            module.start();
+        } finally {
+            System.clearProperty(ComputeModule.WARMUP_ONLY_PROPERTY);
+        }
+        assertEquals(seen, List.of("sample"));
+    }
+
+    @Test
+    void test_warmup_skips_sample_queries_that_do_not_deserialize() {
+        List<Event> seen = new CopyOnWriteArrayList<>();
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        (Context context, Event event) -> {
+                            seen.add(event);
+                            return mult(context, event);
+                        },
+                        Event.class,
+                        Integer.class,
+                        "mult")
+                .withWarmup("mult", "\"not an event\"", "{\"x\":", "{\"x\":2,\"y\":3}")
+                .withWarmupIterations(2)
+                .build();
+
+        System.setProperty(ComputeModule.WARMUP_ONLY_PROPERTY, "true");
+        try {
+            module.start();
+        } finally {
+            System.clearProperty(ComputeModule.WARMUP_ONLY_PROPERTY);
+        }
+        assertEquals(seen, List.of(new Event(2, 3), new Event(2, 3)));
+    }
+
+    @Test
+    void test_timeout_interrupts_running_job_and_drops_queued_jobs() throws IOException, InterruptedException {
+        AtomicInteger started = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        (Context context, Integer input) -> {
+                            started.incrementAndGet();
+                            try {
+                                Thread.sleep(Duration.ofMinutes(1).toMillis());
+                            } catch (InterruptedException e) {
+                                interrupted.countDown();
+                                // hold the only slot until the queued job's timeout has passed as well
+                                Uninterruptibles.sleepUninterruptibly(Duration.ofMillis(300));
+                            }
+                            return input;
+                        },
+                        Integer.class,
+                        Integer.class,
+                        "slow",
+                        FunctionOptions.builder()
+                                .withMaxConcurrency(1)
+                                .withTimeout(Duration.ofMillis(200))
+                                .build())
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        String running = client.submit("slow", 1);
+        String queued = client.submit("slow", 2);
+        for (String jobId : List.of(running, queued)) {
+            String error = new String(client.result(jobId).readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(error.contains("Job timed out"));
+        }
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(started.get(), 1);
+    }
+
+    @Test
+    void test_timed_out_job_holds_its_in_flight_slot_until_it_returns() throws IOException {
+        AtomicLong firstReturned = new AtomicLong();
+        AtomicLong secondStarted = new AtomicLong();
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .add(
+                        (Context context, Integer input) -> {
+                            if (input == 1) {
+                                Uninterruptibles.sleepUninterruptibly(Duration.ofMillis(300));
+                                firstReturned.set(System.nanoTime());
+                            } else {
+                                secondStarted.set(System.nanoTime());
+                            }
+                            return input;
+                        },
+                        Integer.class,
+                        Integer.class,
+                        "stubborn",
+                        FunctionOptions.builder()
+                                .withTimeout(Duration.ofMillis(100))
+                                .build())
+                .withMaxInFlightJobs(1)
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        String first = client.submit("stubborn", 1);
+        String second = client.submit("stubborn", 2);
+        String error = new String(client.result(first).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(error.contains("Job timed out"));
+        assertEquals(client.result(second, Integer.class), 2);
+        assertTrue(firstReturned.get() != 0);
+        assertTrue(secondStarted.get() > firstReturned.get());
+    }
+
+    @Test
+    void test_async_functions_do_not_hold_threads_while_pending() {
+        AtomicInteger pending = new AtomicInteger();
+        AtomicInteger maxPending = new AtomicInteger();
+        Executor delayed = CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS);
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .addAsync(
+                        (Context context, Integer input) -> {
+                            maxPending.accumulateAndGet(pending.incrementAndGet(), Math::max);
+                            return CompletableFuture.supplyAsync(
+                                    () -> {
+                                        pending.decrementAndGet();
+                                        return input * 2;
+                                    },
+                                    delayed);
+                        },
+                        Integer.class,
+                        Integer.class,
+                        "async")
+                .withExecutor(Executors.newSingleThreadExecutor())
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        List<String> jobs = IntStream.range(0, 50)
+                .mapToObj(i -> client.submit("async", i))
+                .toList();
+        for (int i = 0; i < jobs.size(); i++) {
+            assertEquals(client.result(jobs.get(i), Integer.class), i * 2);
+        }
+        assertTrue(maxPending.get() > 1);
+    }
+
+    @Test
+    void test_async_function_timeout_cancels_stage() throws IOException, InterruptedException {
+        CompletableFuture<Integer> stage = new CompletableFuture<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        stage.whenComplete((result, throwable) -> completed.countDown());
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .addAsync(
+                        (Context context, Integer input) -> stage,
+                        Integer.class,
+                        Integer.class,
+                        "never",
+                        FunctionOptions.builder()
+                                .withTimeout(Duration.ofMillis(100))
+                                .build())
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        String error = new String(client.execute("never", 1).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(error.contains("Job timed out"));
+        // the timeout failure is posted before the stage is cancelled
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertTrue(stage.isCancelled());
+    }
+
+    @Test
+    void test_jobs_that_fail_to_submit_are_not_counted_as_in_flight() {
+        DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        TestClient client = new TestClient();
+        ComputeModule module = ComputeModule.builder()
+                .add(ComputeModuleTest::dub, Integer.class, Integer.class, "dub")
+                // the deadline overflows Instant, so submitting the job throws
+                .withTimeout(Duration.ofSeconds(Long.MAX_VALUE))
+                .withMetricsRegistry(registry)
+                .withClient(client)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+
+        client.submit("dub", 1);
+        DefaultCounter pollErrors = (DefaultCounter) registry.get(MetricName.of("computemodule.poll.errors"));
+        while (pollErrors.count() == 0) {
+            Uninterruptibles.sleepUninterruptibly(Duration.ofMillis(10));
+        }
+        DoubleSupplier inFlight = (DoubleSupplier) registry.get(MetricName.of("computemodule.jobs.inflight"));
+        assertEquals(inFlight.getAsDouble(), 0.0);
+    }
+
     static Integer dub(Context context, Integer input) {
         return input * 2;
     }
@@ -0,0 +1,94 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.computemodules.functions.results.Failed;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ErrorPayloadsTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void test_payload_is_structured() throws IOException {
+        Exception cause = new IllegalStateException("inner");
+        JsonNode payload = render(new Failed("job-1", new RuntimeException("outer", cause)));
+
+        assertEquals(payload.get("jobId").asText(), "job-1");
+        assertEquals(payload.get("type").asText(), "java.lang.RuntimeException");
+        assertEquals(payload.get("message").asText(), "outer");
+        assertEquals(payload.get("causes").get(0).get("type").asText(), "java.lang.IllegalStateException");
+        assertEquals(payload.get("causes").get(0).get("message").asText(), "inner");
+        assertTrue(payload.get("trace").get(0).asText().startsWith("at " + ErrorPayloadsTest.class.getName()));
+    }
+
+    @Test
+    void test_fingerprint_ignores_message_but_not_failure_site() throws IOException {
+        List<JsonNode> payloads = new ArrayList<>();
+        for (String message : List.of("first", "second")) {
+            payloads.add(render(new Failed("job-" + message, new RuntimeException(message))));
+        }
+        JsonNode first = payloads.get(0);
+        JsonNode second = payloads.get(1);
+        JsonNode elsewhere = render(new Failed("job-3", new RuntimeException("first")));
+
+        assertEquals(first.get("fingerprint"), second.get("fingerprint"));
+        assertEquals(first.get("trace"), second.get("trace"));
+        assertEquals(second.get("message").asText(), "second");
+        assertNotEquals(first.get("fingerprint"), elsewhere.get("fingerprint"));
+    }
+
+    @Test
+    void test_trace_is_depth_limited() throws IOException {
+        JsonNode payload = render(new Failed("job-1", deep(100)));
+        JsonNode trace = payload.get("trace");
+
+        assertEquals(trace.size(), 33);
+        assertTrue(trace.get(32).asText().matches("\\.\\.\\. \\d+ more"));
+    }
+
+    @Test
+    void test_traces_of_different_depths_count_their_own_omitted_frames() throws IOException {
+        RuntimeException shallow = deep(100);
+        RuntimeException deeper = deep(150);
+        JsonNode first = render(new Failed("job-1", shallow));
+        JsonNode second = render(new Failed("job-2", deeper));
+
+        assertNotEquals(first.get("fingerprint"), second.get("fingerprint"));
+        assertEquals(first.get("trace").get(32).asText(), "... " + (shallow.getStackTrace().length - 32) + " more");
+        assertEquals(second.get("trace").get(32).asText(), "... " + (deeper.getStackTrace().length - 32) + " more");
+    }
+
+    private static RuntimeException deep(int depth) {
+        return depth == 0 ? new RuntimeException("deep") : deep(depth - 1);
+    }
+
+    private static JsonNode render(Failed failed) throws IOException {
+        try (InputStream in = ComputeModule.serializeException(failed).openStream()) {
+            return mapper.readTree(in);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.results.Result;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import com.palantir.computemodules.metrics.CacheMetrics;
+import com.palantir.computemodules.metrics.DefaultMetricsRegistry;
+import com.palantir.computemodules.metrics.DefaultMetricsRegistry.DefaultCounter;
+import com.palantir.computemodules.metrics.MetricName;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ResultCacheTest {
+
+    private final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void test_queries_differing_in_key_order_and_whitespace_share_an_entry() throws IOException {
+        ResultCache cache = cache(CacheOptions.builder().build());
+        assertEquals(body(cache.get("a", raw("{\"x\": 1, \"y\": [1, 2]}"), load("result"))), "result");
+        assertEquals(body(cache.get("b", raw("{\"y\":[1,2],\"x\":1}"), load("result"))), "result");
+        assertEquals(executions.get(), 1);
+        assertEquals(count("computemodule.cache.hits"), 1);
+        assertEquals(count("computemodule.cache.misses"), 1);
+    }
+
+    @Test
+    void test_queries_differing_beyond_double_precision_do_not_share_an_entry() throws IOException {
+        ResultCache cache = cache(CacheOptions.builder().build());
+        assertEquals(body(cache.get("a", raw("{\"x\": 0.10000000000000000001}"), load("first"))), "first");
+        assertEquals(body(cache.get("b", raw("{\"x\": 0.10000000000000000002}"), load("second"))), "second");
+        assertEquals(body(cache.get("c", raw("{\"x\": 9007199254740993.0}"), load("third"))), "third");
+        assertEquals(body(cache.get("d", raw("{\"x\": 9007199254740992.0}"), load("fourth"))), "fourth");
+        assertEquals(executions.get(), 4);
+    }
+
+    @Test
+    void test_least_recently_used_result_is_evicted_over_budget() throws IOException {
+        // each entry is a 7 byte key, {"x":n}, and a 10 byte result
+        ResultCache cache = cache(CacheOptions.builder().withMaxBytes(40).build());
+        cache.get("a", raw("{\"x\":1}"), load("0123456789"));
+        cache.get("b", raw("{\"x\":2}"), load("0123456789"));
+        cache.get("c", raw("{\"x\":1}"), load("0123456789"));
+        cache.get("d", raw("{\"x\":3}"), load("0123456789"));
+        assertEquals(count("computemodule.cache.evictions"), 1);
+        assertEquals(cache.bytes(), 34);
+
+        cache.get("e", raw("{\"x\":1}"), load("0123456789"));
+        cache.get("f", raw("{\"x\":2}"), load("0123456789"));
+        assertEquals(executions.get(), 4);
+    }
+
+    @Test
+    void test_concurrent_identical_queries_are_coalesced() throws Exception {
+        ResultCache cache = cache(CacheOptions.builder().build());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Result> leader = executor.submit(() -> cache.get("leader", raw("{\"x\":1}"), () -> {
+                started.countDown();
+                await(release);
+                return load("shared").get();
+            }));
+            started.await();
+            List<Future<Result>> followers = IntStream.range(0, 3)
+                    .mapToObj(i -> executor.submit(() -> cache.get("follower-" + i, raw("{\"x\":1}"), load("own"))))
+                    .toList();
+            while (count("computemodule.cache.coalesced") < 3) {
+                Thread.yield();
+            }
+            release.countDown();
+
+            assertEquals(body(leader.get()), "shared");
+            for (Future<Result> follower : followers) {
+                assertEquals(body(follower.get()), "shared");
+            }
+            assertEquals(executions.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_interrupted_waiter_fails_without_running_the_function() throws Exception {
+        ResultCache cache = cache(CacheOptions.builder().build());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Result> leader = executor.submit(() -> cache.get("leader", raw("{\"x\":1}"), () -> {
+                started.countDown();
+                await(release);
+                return load("shared").get();
+            }));
+            started.await();
+            Future<Result> follower = executor.submit(() -> cache.get("follower", raw("{\"x\":1}"), load("own")));
+            while (count("computemodule.cache.coalesced") < 1) {
+                Thread.yield();
+            }
+            follower.cancel(true);
+            release.countDown();
+
+            assertEquals(body(leader.get()), "shared");
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(executions.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_results_over_budget_or_read_once_are_passed_through() throws IOException {
+        // each key is 7 bytes, {"x":n}, leaving 13 bytes for the result
+        ResultCache cache = cache(CacheOptions.builder().withMaxBytes(20).build());
+        assertEquals(body(cache.get("a", raw("{\"x\":1}"), stream("streamed"))), "streamed");
+        assertEquals(body(cache.get("b", raw("{\"x\":1}"), stream("streamed"))), "streamed");
+        assertEquals(body(cache.get("c", raw("{\"x\":2}"), load("0123456789abcdef"))), "0123456789abcdef");
+        assertEquals(body(cache.get("d", raw("{\"x\":2}"), load("0123456789abcdef"))), "0123456789abcdef");
+        assertEquals(body(cache.get("e", raw("{\"x\":3}"), write("0123456789abcdef"))), "0123456789abcdef");
+        assertEquals(body(cache.get("f", raw("{\"x\":3}"), write("0123456789abcdef"))), "0123456789abcdef");
+        assertEquals(executions.get(), 6);
+        assertEquals(cache.bytes(), 0);
+
+        assertEquals(body(cache.get("g", raw("{\"x\":4}"), write("written"))), "written");
+        assertEquals(body(cache.get("h", raw("{\"x\":4}"), write("written"))), "written");
+        assertEquals(executions.get(), 7);
+        assertEquals(cache.bytes(), 14);
+    }
+
+    private ResultCache cache(CacheOptions options) {
+        return new ResultCache(options, CacheMetrics.of(registry, "f"));
+    }
+
+    private Supplier<Result> load(String result) {
+        return () -> {
+            executions.incrementAndGet();
+            return new Ok("job", ResultBody.of(result.getBytes(StandardCharsets.UTF_8)));
+        };
+    }
+
+    private Supplier<Result> stream(String result) {
+        return () -> {
+            executions.incrementAndGet();
+            return new Ok("job", new ByteArrayInputStream(result.getBytes(StandardCharsets.UTF_8)));
+        };
+    }
+
+    private Supplier<Result> write(String result) {
+        return () -> {
+            executions.incrementAndGet();
+            return new Ok("job", ResultBody.streaming(out -> out.write(result.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private long count(String name) {
+        return ((DefaultCounter) registry.get(MetricName.of(name, "function", "f"))).count();
+    }
+
+    private static RawQuery raw(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return RawQuery.of(bytes, 0, bytes.length);
+    }
+
+    private static String body(Result result) throws IOException {
+        return new String(((Ok) result).result().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class JobBodiesTest {
+
+    @Test
+    void test_truncated_spilled_bodies_leave_no_file_behind() throws IOException {
+        Set<Path> before = spillFiles();
+        System.setProperty(JobBodies.SPILL_THRESHOLD_PROPERTY, "1024");
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build()) {
+            Thread.startVirtualThread(() -> {
+                // promises more of the body than it sends before closing the connection
+                try (Socket socket = server.accept();
+                        OutputStream out = socket.getOutputStream()) {
+                    socket.getInputStream().read(new byte[8192]);
+                    out.write("HTTP/1.1 200 OK\r\nContent-Length: 100000\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                    out.write(new byte[10_000]);
+                } catch (IOException e) {
+                    // the test fails on the missing body instead
+                }
+            });
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://127.0.0.1:" + server.getLocalPort() + "/job"))
+                    .build();
+
+            assertThrows(IOException.class, () -> client.send(request, JobBodies.handler()));
+        } finally {
+            System.clearProperty(JobBodies.SPILL_THRESHOLD_PROPERTY);
+        }
+        assertEquals(spillFiles(), before);
+    }
+
+    private static Set<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("computemodule-job"))
+                    .collect(Collectors.toSet());
+        }
+    }
+}
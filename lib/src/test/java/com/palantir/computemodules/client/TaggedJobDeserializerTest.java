@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.palantir.computemodules.functions.serde.DefaultDeserializer;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TaggedJobDeserializerTest {
+
+    private final TaggedJobDeserializer deserializer = new TaggedJobDeserializer();
+
+    @Test
+    void test_query_is_bound_directly_into_input_type() {
+        ComputeModuleJob job = deserializer
+                .deserialize("{\"jobId\": \"1\", \"unknown\": {\"a\": [1, 2]}, \"queryType\": \"mult\","
+                        + " \"query\": {\"x\": 4, \"y\": [5, 6]}}")
+                .orElseThrow();
+
+        assertEquals(job.jobId(), "1");
+        assertEquals(job.queryType(), "mult");
+        assertTrue(job.query() instanceof RawQuery);
+        assertEquals(
+                new DefaultDeserializer<Event>().deserialize(job.query(), Event.class), new Event(4, List.of(5, 6)));
+    }
+
+    @Test
+    void test_scalar_queries() {
+        ComputeModuleJob string = deserializer
+                .deserialize("{\"query\": \"Compute \\\"Module\\\"\", \"jobId\": \"1\", \"queryType\": \"hello\"}")
+                .orElseThrow();
+        ComputeModuleJob number = deserializer
+                .deserialize("{\"query\":42,\"jobId\":\"2\",\"queryType\":\"dub\"}")
+                .orElseThrow();
+
+        assertEquals(new DefaultDeserializer<String>().deserialize(string.query(), String.class), "Compute \"Module\"");
+        assertEquals(new DefaultDeserializer<Integer>().deserialize(number.query(), Integer.class), 42);
+    }
+
+    @Test
+    void test_query_is_sliced_from_off_heap_buffer() {
+        byte[] job = "--{\"jobId\":\"1\",\"queryType\":\"mult\",\"query\":{\"x\":4,\"y\":[5]}}--"
+                .getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(job.length).put(job).flip();
+        buffer.position(2).limit(job.length - 2);
+
+        ComputeModuleJob deserialized = deserializer.deserialize(buffer).orElseThrow();
+        RawQuery query = (RawQuery) deserialized.query();
+        assertEquals(StandardCharsets.UTF_8.decode(query.buffer()).toString(), "{\"x\":4,\"y\":[5]}");
+        assertEquals(new DefaultDeserializer<Event>().deserialize(query, Event.class), new Event(4, List.of(5)));
+    }
+
+    @Test
+    void test_malformed_job_is_empty() {
+        assertTrue(deserializer.deserialize("[1, 2]").isEmpty());
+        assertTrue(deserializer.deserialize("{\"jobId\": ").isEmpty());
+    }
+
+    private record Event(int x, List<Integer> y) {}
+}
@@ -0,0 +1,219 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.palantir.computemodules.ComputeModule;
+import com.palantir.computemodules.functions.Context;
+import com.palantir.computemodules.runtime.LocalRuntime;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class UnixSocketTransportTest {
+
+    private static final LocalRuntime runtime = new LocalRuntime(Duration.ofMillis(200));
+    private static UnixSocketProxy proxy;
+    private static UnixSocketTransport transport;
+
+    @BeforeAll
+    static void before() throws IOException {
+        proxy = new UnixSocketProxy(runtime.jobUri().getPort());
+        transport = new UnixSocketTransport(proxy.socket(), runtime.moduleAuthToken());
+        ComputeModule module = ComputeModule.builder()
+                .add(UnixSocketTransportTest::hello, String.class, String.class, "hello")
+                .add(UnixSocketTransportTest::bytes, Integer.class, byte[].class, "bytes")
+                .add(UnixSocketTransportTest::file, Integer.class, Path.class, "file")
+                .add(UnixSocketTransportTest::strings, Integer.class, String[].class, "strings")
+                .add(UnixSocketTransportTest::count, ReadableByteChannel.class, Long.class, "count")
+                .withClient(new ComputeModuleClient(transport))
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @AfterAll
+    static void after() throws IOException {
+        transport.close();
+        proxy.close();
+        runtime.close();
+    }
+
+    @Test
+    void test_jobs_round_trip_over_reused_connections() {
+        for (int i = 0; i < 20; i++) {
+            byte[] result = runtime.submit("hello", "\"socket " + i + "\"").join();
+            assertEquals(new String(result, StandardCharsets.UTF_8), "\"hello socket " + i + "\"");
+        }
+        assertEquals(runtime.contentType("hello"), Optional.of("application/json"));
+        assertTrue(proxy.connections() < 20, "connections are reused");
+    }
+
+    @Test
+    void test_bodies_of_every_kind_are_posted() {
+        int size = 3 * 64 * 1024 + 17;
+        runtime.failNextResultPosts(1);
+        assertTrue(Arrays.equals(runtime.submit("bytes", Integer.toString(size)).join(), content(size)));
+        assertEquals(runtime.contentType("bytes"), Optional.of("application/octet-stream"));
+        assertTrue(Arrays.equals(runtime.submit("file", Integer.toString(size)).join(), content(size)));
+        // serialized without a known length, so sent chunked
+        String strings = new String(runtime.submit("strings", "20000").join(), StandardCharsets.UTF_8);
+        assertEquals(strings, "[" + "\"socket\",".repeat(19999) + "\"socket\"]");
+    }
+
+    @Test
+    void test_large_queries_are_spilled_and_streamed() {
+        String query = "\"" + "spill".repeat(100_000) + "\"";
+        System.setProperty("computemodules.spillThresholdBytes", "65536");
+        try {
+            byte[] result = runtime.submit("count", query).join();
+            assertEquals(new String(result, StandardCharsets.UTF_8), Integer.toString(query.length()));
+        } finally {
+            System.clearProperty("computemodules.spillThresholdBytes");
+        }
+    }
+
+    static String hello(Context context, String name) {
+        return "hello " + name;
+    }
+
+    static Long count(Context context, ReadableByteChannel query) {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long count = 0;
+        try (ReadableByteChannel channel = query) {
+            for (int read = channel.read(buffer); read >= 0; read = channel.read(buffer)) {
+                count += read;
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    static byte[] bytes(Context context, Integer size) {
+        return content(size);
+    }
+
+    static Path file(Context context, Integer size) {
+        try {
+            Path path = Files.createTempFile("result", ".bin");
+            path.toFile().deleteOnExit();
+            return Files.write(path, content(size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String[] strings(Context context, Integer count) {
+        String[] strings = new String[count];
+        Arrays.fill(strings, "socket");
+        return strings;
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+
+    /*
+     * Stands in for a runtime listening on a Unix domain socket by relaying each connection to the LocalRuntime.
+     */
+    private static final class UnixSocketProxy implements AutoCloseable {
+        private final Path socket;
+        private final ServerSocketChannel server;
+        private final AtomicInteger connections = new AtomicInteger();
+
+        UnixSocketProxy(int port) throws IOException {
+            Path directory = Files.createTempDirectory("runtime");
+            this.socket = directory.resolve("runtime.sock");
+            this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socket));
+            Thread acceptor = new Thread(() -> {
+                while (server.isOpen()) {
+                    try {
+                        SocketChannel client = server.accept();
+                        SocketChannel upstream = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+                        connections.incrementAndGet();
+                        relay(client, upstream);
+                        relay(upstream, client);
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        Path socket() {
+            return socket;
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        private static void relay(SocketChannel from, SocketChannel to) {
+            Thread relay = new Thread(() -> {
+                // channel streams would lock the channel for reads and writes alike, so copy with the channels
+                ByteBuffer buffer = ByteBuffer.allocate(8192);
+                try {
+                    while (from.read(buffer) >= 0) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            to.write(buffer);
+                        }
+                        buffer.clear();
+                    }
+                    to.shutdownOutput();
+                } catch (IOException e) {
+                    // either side closing ends the relay
+                }
+            });
+            relay.setDaemon(true);
+            relay.start();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+            Files.deleteIfExists(socket);
+        }
+    }
+}
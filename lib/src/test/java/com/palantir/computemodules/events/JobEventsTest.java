@@ -0,0 +1,149 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.palantir.computemodules.ComputeModule;
+import com.palantir.computemodules.client.TestClient;
+import com.palantir.computemodules.functions.Context;
+import com.palantir.computemodules.functions.FunctionOptions;
+import com.palantir.computemodules.functions.FunctionRunner;
+import com.palantir.computemodules.functions.results.Ok;
+import com.palantir.computemodules.functions.results.ResultBody;
+import com.palantir.computemodules.functions.serde.DefaultDeserializer;
+import com.palantir.computemodules.functions.serde.DefaultSerializer;
+import com.palantir.computemodules.functions.serde.RawQuery;
+import com.palantir.computemodules.metrics.FunctionMetrics;
+import com.palantir.computemodules.metrics.MetricsRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class JobEventsTest {
+
+    @Test
+    void test_function_runner_emits_stage_events() throws IOException {
+        FunctionRunner<String, String> runner = new FunctionRunner<>(
+                (context, input) -> input.repeat(1000),
+                String.class,
+                String.class,
+                new DefaultDeserializer<>(),
+                (jobId, output) -> new Ok(jobId, ResultBody.of(output.getBytes(StandardCharsets.UTF_8))));
+        byte[] query = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.createTempFile("job-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Deserialize", "Execute", "Serialize")) {
+                recording.enable("com.palantir.computemodules." + name).withoutThreshold();
+            }
+            recording.start();
+            runner.run(
+                    new Context("job-1"),
+                    RawQuery.of(query, 0, query.length),
+                    FunctionMetrics.of(MetricsRegistry.noop(), "repeat"));
+            recording.stop();
+            recording.dump(file);
+
+            Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getString("jobId").equals("job-1"))
+                    .collect(Collectors.toMap(event -> event.getEventType().getLabel(), Function.identity()));
+            assertEquals(events.keySet(), Set.of("Deserialize", "Execute", "Serialize"));
+            events.values().forEach(event -> assertEquals(event.getString("queryType"), "repeat"));
+            assertEquals(events.get("Deserialize").getLong("queryBytes"), query.length);
+            assertTrue(events.get("Execute").getLong("allocatedBytes") >= 5000);
+            assertTrue(events.get("Execute").getLong("cpuTime") >= 0);
+            assertEquals(events.get("Execute").getBoolean("failed"), false);
+            assertEquals(events.get("Serialize").getLong("resultBytes"), 5000L);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void test_streaming_serializers_emit_no_serialize_event() throws IOException {
+        FunctionRunner<String, String> runner = new FunctionRunner<>(
+                (context, input) -> input,
+                String.class,
+                String.class,
+                new DefaultDeserializer<>(),
+                new DefaultSerializer<>());
+        Path file = Files.createTempFile("job-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.palantir.computemodules.Serialize").withoutThreshold();
+            recording.start();
+            // the body is only written once posted, which is timed as part of the upload
+            runner.run(new Context("job-2"), "hello", FunctionMetrics.of(MetricsRegistry.noop(), "identity"));
+            recording.stop();
+            recording.dump(file);
+
+            assertTrue(RecordingFile.readAllEvents(file).stream()
+                    .noneMatch(event -> event.getEventType().getLabel().equals("Serialize")));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void test_execute_events_only_measure_thread_usage_on_platform_threads() throws IOException {
+        TestClient client = new TestClient();
+        FunctionOptions platform = FunctionOptions.builder()
+                .withExecutionMode(FunctionOptions.ExecutionMode.PLATFORM_POOL)
+                .build();
+        ComputeModule module = ComputeModule.builder()
+                .add((Context context, String input) -> input.repeat(1000), String.class, String.class, "virtual")
+                .add(
+                        (Context context, String input) -> input.repeat(1000),
+                        String.class,
+                        String.class,
+                        "platform",
+                        platform)
+                .withClient(client)
+                .build();
+        Path file = Files.createTempFile("job-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.palantir.computemodules.Execute").withoutThreshold();
+            recording.start();
+            Thread poller = new Thread(module::start);
+            poller.setDaemon(true);
+            poller.start();
+            assertEquals(client.execute("virtual", "hello", String.class), "hello".repeat(1000));
+            assertEquals(client.execute("platform", "hello", String.class), "hello".repeat(1000));
+            recording.stop();
+            recording.dump(file);
+
+            Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getLabel().equals("Execute"))
+                    .collect(Collectors.toMap(event -> event.getString("queryType"), Function.identity()));
+            assertEquals(events.get("virtual").getLong("cpuTime"), -1L);
+            assertEquals(events.get("virtual").getLong("allocatedBytes"), -1L);
+            assertTrue(events.get("platform").getLong("cpuTime") >= 0);
+            assertTrue(events.get("platform").getLong("allocatedBytes") >= 5000);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
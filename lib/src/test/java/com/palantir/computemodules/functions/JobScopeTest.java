@@ -0,0 +1,131 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class JobScopeTest {
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Test
+    void test_subtasks_are_capped_per_job() throws InterruptedException, ExecutionException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Context context = context(2);
+        try (JobScope scope = context.openScope()) {
+            List<Future<Integer>> results = IntStream.range(0, 10)
+                    .mapToObj(i -> scope.fork(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.sleep(20);
+                        running.decrementAndGet();
+                        return i * 2;
+                    }))
+                    .toList();
+            scope.join();
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(results.get(i).get(), i * 2);
+            }
+        }
+        assertEquals(maxRunning.get(), 2);
+    }
+
+    @Test
+    void test_failure_cancels_other_subtasks() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Context context = context(2);
+        try (JobScope scope = context.openScope()) {
+            Future<Object> slow = scope.fork(() -> {
+                started.countDown();
+                Thread.sleep(Duration.ofMinutes(1).toMillis());
+                return null;
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            scope.fork(() -> {
+                throw new IllegalStateException("Intentionally failing");
+            });
+            ExecutionException thrown = assertThrows(ExecutionException.class, scope::join);
+            assertTrue(thrown.getCause() instanceof IllegalStateException);
+            assertTrue(slow.isCancelled());
+        }
+    }
+
+    @Test
+    void test_cancelling_the_job_cancels_subtasks() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Context context = context(2);
+        try (JobScope scope = context.openScope()) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(Duration.ofMinutes(1).toMillis());
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            context.cancellation().cancel();
+            assertThrows(CancellationException.class, scope::join);
+            assertThrows(CancellationException.class, () -> scope.fork(() -> null));
+        }
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void test_subtasks_can_join_nested_scopes_on_a_single_thread_pool()
+            throws InterruptedException, ExecutionException {
+        ForkJoinPool single = new ForkJoinPool(1);
+        Context context = new Context("job", Optional.empty(), new CancellationToken(), new Parallelism(single, 2));
+        try (JobScope scope = context.openScope()) {
+            // the outer subtask holds the pool's only thread while the inner one is queued on the pool
+            Future<Integer> outer = scope.fork(() -> {
+                try (JobScope inner = context.openScope()) {
+                    Future<Integer> result = inner.fork(() -> 21);
+                    inner.join();
+                    return result.resultNow() * 2;
+                }
+            });
+            assertEquals(outer.get(10, TimeUnit.SECONDS), 42);
+            scope.join();
+        } catch (TimeoutException e) {
+            throw new AssertionError("Nested scope deadlocked", e);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    private static Context context(int maxPerJob) {
+        return new Context("job", Optional.empty(), new CancellationToken(), new Parallelism(pool, maxPerJob));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PooledBodyTest {
+
+    @Test
+    void test_body_spans_buffers_and_returns_them_on_release() throws IOException {
+        BufferPool pool = new BufferPool(16, 4, false);
+        byte[] bytes = new byte[40];
+        new Random(1).nextBytes(bytes);
+
+        PooledBody.Output out = PooledBody.output(pool);
+        out.write(bytes, 0, 39);
+        out.write(bytes[39]);
+        PooledBody body = out.toBody();
+        assertEquals(body.contentLength().getAsLong(), 40);
+        assertEquals(body.buffers().size(), 3);
+        try (InputStream stream = body.openStream()) {
+            assertArrayEquals(stream.readAllBytes(), bytes);
+        }
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        body.writeTo(written);
+        assertArrayEquals(written.toByteArray(), bytes);
+        assertEquals(pool.misses(), 3);
+
+        body.release();
+        body.release();
+        assertEquals(pool.pooled(), 3);
+        assertThrows(IllegalStateException.class, body::openStream);
+
+        PooledBody.output(pool).write(1);
+        assertEquals(pool.hits(), 1);
+    }
+
+    @Test
+    void test_open_streams_hold_buffers_past_release() throws IOException {
+        BufferPool pool = new BufferPool(16, 4, false);
+        PooledBody.Output out = PooledBody.output(pool);
+        out.write(new byte[] {1, 2, 3}, 0, 3);
+        PooledBody body = out.toBody();
+
+        InputStream stream = body.openStream();
+        body.release();
+        assertEquals(pool.pooled(), 0);
+        PooledBody.output(pool).write(9);
+        assertArrayEquals(stream.readAllBytes(), new byte[] {1, 2, 3});
+        assertEquals(pool.pooled(), 1);
+        stream.close();
+        assertEquals(pool.pooled(), 1);
+    }
+
+    @Test
+    void test_pool_is_bounded_and_ignores_foreign_buffers() {
+        BufferPool pool = new BufferPool(16, 2, true);
+        List<ByteBuffer> acquired = List.of(pool.acquire(), pool.acquire(), pool.acquire());
+        acquired.forEach(buffer -> pool.release(buffer.limit(4)));
+        pool.release(ByteBuffer.allocate(16));
+        assertEquals(pool.pooled(), 2);
+        assertEquals(pool.acquire().remaining(), 16);
+        assertEquals(pool.hits(), 1);
+        assertEquals(pool.misses(), 3);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.results;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class StreamingBodyTest {
+
+    @Test
+    void test_streams_body_larger_than_pipe() throws IOException {
+        byte[] expected = new byte[1024 * 1024];
+        new Random(0).nextBytes(expected);
+        ResultBody body = ResultBody.streaming(out -> {
+            for (int offset = 0; offset < expected.length; offset += 1000) {
+                out.write(expected, offset, Math.min(1000, expected.length - offset));
+            }
+        });
+
+        try (InputStream in = body.openStream()) {
+            assertArrayEquals(in.readAllBytes(), expected);
+        }
+    }
+
+    @Test
+    void test_writer_failure_is_not_a_truncated_body() {
+        ResultBody body = ResultBody.streaming(out -> {
+            out.write(new byte[100_000]);
+            throw new IOException("Intentionally failing");
+        });
+
+        assertThrows(IOException.class, () -> body.openStream().readAllBytes());
+    }
+
+    @Test
+    void test_writer_gives_up_on_a_reader_that_stopped_reading() {
+        Pipe pipe = new Pipe(Duration.ofMillis(100));
+        InputStream in = pipe.source();
+        OutputStream out = pipe.sink();
+        assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 100; i++) {
+                out.write(new byte[1024]);
+                out.flush();
+            }
+        });
+        // a reader that comes back sees the failure rather than a truncated body
+        assertThrows(IOException.class, in::readAllBytes);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.functions.serde;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.palantir.computemodules.functions.results.Ok;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class DefaultSerializerTest {
+
+    private final DefaultSerializer<Object> serializer = new DefaultSerializer<>();
+
+    @Test
+    void test_streams_and_iterators_are_written_as_ndjson() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Row> stream =
+                IntStream.range(0, 3).mapToObj(i -> new Row(i, "row " + i)).onClose(() -> closed.set(true));
+
+        assertEquals(write(stream), "{\"id\":0,\"name\":\"row 0\"}\n{\"id\":1,\"name\":\"row 1\"}\n"
+                + "{\"id\":2,\"name\":\"row 2\"}\n");
+        assertTrue(closed.get());
+        assertEquals(write(List.of(1, 2, 3).iterator()), "1\n2\n3\n");
+        assertEquals(write(Stream.empty()), "");
+    }
+
+    @Test
+    void test_publishers_are_drained_with_bounded_demand() throws IOException {
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 4);
+        Thread producer = new Thread(() -> {
+            // items submitted before the serializer subscribes would be dropped
+            while (!publisher.hasSubscribers()) {
+                Thread.onSpinWait();
+            }
+            // submit blocks while the subscriber's buffer of 4 is full
+            IntStream.range(0, 1000).forEach(publisher::submit);
+            publisher.close();
+        });
+        producer.start();
+
+        String written = write(publisher);
+        assertEquals(written.lines().count(), 1000);
+        assertTrue(written.endsWith("998\n999\n"));
+    }
+
+    @Test
+    void test_elements_are_flushed_while_waiting_on_the_publisher() throws IOException {
+        BlockingQueue<String> flushes = new LinkedBlockingQueue<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.add(toString(StandardCharsets.UTF_8));
+            }
+        };
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        AtomicBoolean flushedBursts = new AtomicBoolean(true);
+        Thread producer = new Thread(() -> {
+            while (!publisher.hasSubscribers()) {
+                Thread.onSpinWait();
+            }
+            // each burst must reach the stream before the next one is emitted, however quickly it was written
+            for (int i = 1; i <= 5; i += 2) {
+                publisher.submit(i);
+                publisher.submit(i + 1);
+                if (!awaitFlush(flushes, Integer.toString(i + 1))) {
+                    flushedBursts.set(false);
+                }
+            }
+            publisher.close();
+        });
+        producer.start();
+
+        serializer.serialize(publisher, out);
+        assertTrue(flushedBursts.get());
+        assertEquals(out.toString(StandardCharsets.UTF_8), "1\n2\n3\n4\n5\n6\n");
+    }
+
+    @Test
+    void test_sequence_bodies_are_not_repeatable() {
+        Ok ok = (Ok) serializer.serialize("job", Stream.of(1));
+        assertFalse(ok.body().isRepeatable());
+        assertTrue(((Ok) serializer.serialize("job", List.of(1))).body().isRepeatable());
+    }
+
+    @Test
+    void test_publisher_failure_fails_the_body() {
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            publisher.submit(1);
+            publisher.closeExceptionally(new IllegalStateException("Intentionally failing"));
+            assertThrows(RuntimeException.class, () -> write(publisher));
+        }
+    }
+
+    private static boolean awaitFlush(BlockingQueue<String> flushes, String element) {
+        try {
+            for (String flushed = flushes.poll(1, TimeUnit.SECONDS);
+                    flushed != null;
+                    flushed = flushes.poll(1, TimeUnit.SECONDS)) {
+                if (flushed.contains(element)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String write(Object output) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(output, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private record Row(int id, String name) {}
+}
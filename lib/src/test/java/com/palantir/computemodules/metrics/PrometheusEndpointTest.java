@@ -0,0 +1,55 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PrometheusEndpointTest {
+
+    private final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+
+    @Test
+    void test_renders_counters_gauges_and_timers() {
+        registry.counter(MetricName.of("jobs.polled")).inc(3);
+        registry.gauge(MetricName.of("jobs.inFlight"), () -> 2);
+        Timer timer = registry.timer(MetricName.of("function.execute", "function", "add"));
+        timer.update(1_500);
+        timer.update(3_000);
+
+        String rendered = PrometheusEndpoint.render(registry);
+        assertTrue(rendered.contains("# TYPE jobs_polled_total counter\njobs_polled_total 3\n"), rendered);
+        assertTrue(rendered.contains("# TYPE jobs_inFlight gauge\njobs_inFlight 2\n"), rendered);
+        assertTrue(rendered.contains("# TYPE function_execute_seconds histogram\n"), rendered);
+        assertTrue(rendered.contains("function_execute_seconds_count{function=\"add\"} 2\n"), rendered);
+        assertTrue(rendered.contains("function_execute_seconds_bucket{function=\"add\",le=\"+Inf\"} 2\n"), rendered);
+    }
+
+    @Test
+    void test_log2_histogram_quantiles_are_bucket_upper_bounds() {
+        Log2Histogram histogram = new Log2Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.update(10);
+        }
+        histogram.update(1_000);
+        assertEquals(histogram.count(), 100);
+        assertEquals(histogram.sum(), 99 * 10 + 1_000);
+        assertEquals(histogram.quantile(0.5), 15);
+        assertEquals(histogram.quantile(1.0), 1023);
+    }
+}
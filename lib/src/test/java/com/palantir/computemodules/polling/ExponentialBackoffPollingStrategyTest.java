@@ -0,0 +1,57 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.polling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ExponentialBackoffPollingStrategyTest {
+
+    private final PollingStrategy.Backoff backoff = ExponentialBackoffPollingStrategy.builder()
+            .withIdleDelay(Duration.ofMillis(10), Duration.ofMillis(40))
+            .withErrorDelay(Duration.ofMillis(100), Duration.ofMillis(300))
+            .withJitter(0)
+            .withLongPollThreshold(Duration.ofSeconds(1))
+            .build()
+            .newBackoff();
+
+    @Test
+    void test_idle_delay_grows_to_max_and_resets_on_job() {
+        assertEquals(backoff.onEmpty(Duration.ZERO), Duration.ofMillis(10));
+        assertEquals(backoff.onEmpty(Duration.ZERO), Duration.ofMillis(20));
+        assertEquals(backoff.onEmpty(Duration.ZERO), Duration.ofMillis(40));
+        assertEquals(backoff.onEmpty(Duration.ZERO), Duration.ofMillis(40));
+        backoff.onJob();
+        assertEquals(backoff.onEmpty(Duration.ZERO), Duration.ofMillis(10));
+    }
+
+    @Test
+    void test_error_delay_grows_to_max() {
+        Exception error = new RuntimeException();
+        assertEquals(backoff.onError(error), Duration.ofMillis(100));
+        assertEquals(backoff.onError(error), Duration.ofMillis(200));
+        assertEquals(backoff.onError(error), Duration.ofMillis(300));
+    }
+
+    @Test
+    void test_long_poll_does_not_back_off() {
+        backoff.onEmpty(Duration.ZERO);
+        assertEquals(backoff.onEmpty(Duration.ofSeconds(2)), Duration.ZERO);
+        assertEquals(backoff.onEmpty(Duration.ZERO), Duration.ofMillis(10));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.runtime;
+
+import com.palantir.computemodules.ComputeModule;
+import com.palantir.computemodules.client.ComputeModuleClient;
+import com.palantir.computemodules.functions.Context;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Drives jobs through a LocalRuntime and reports throughput and end to end latency, from the moment a job is queued
+ * on the runtime until its result has been received.
+ *
+ * Open loop (rate > 0) queues jobs on a fixed schedule and measures latency from each job's scheduled start, so that
+ * a stalled module is not hidden by the generator slowing down with it. Closed loop (rate = 0) keeps concurrency jobs
+ * outstanding at all times.
+ */
+public final class LoadGenerator {
+
+    private final LocalRuntime runtime;
+    private final String queryType;
+    private final String query;
+
+    public LoadGenerator(LocalRuntime runtime, String queryType, String query) {
+        this.runtime = runtime;
+        this.queryType = queryType;
+        this.query = query;
+    }
+
+    public Report runAtRate(int jobsPerSecond, Duration duration) {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<CompletableFuture<?>> outstanding = new ConcurrentLinkedQueue<>();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / jobsPerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long intended = scheduled;
+            outstanding.add(runtime.submit(queryType, query)
+                    .thenRun(() -> latencies.add(System.nanoTime() - intended)));
+        }
+        CompletableFuture.allOf(outstanding.toArray(CompletableFuture[]::new)).join();
+        return Report.of(latencies, System.nanoTime() - start);
+    }
+
+    public Report runAtConcurrency(int concurrency, Duration duration) {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.startVirtualThread(() -> {
+                while (System.nanoTime() < end) {
+                    long submitted = System.nanoTime();
+                    runtime.submit(queryType, query).join();
+                    latencies.add(System.nanoTime() - submitted);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return Report.of(latencies, System.nanoTime() - start);
+    }
+
+    public record Report(long jobs, double jobsPerSecond, Duration p50, Duration p99, Duration p999) {
+
+        static Report of(ConcurrentLinkedQueue<Long> latencies, long elapsedNanos) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return new Report(
+                    sorted.length,
+                    sorted.length / (elapsedNanos / 1e9),
+                    percentile(sorted, 0.5),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 0.999));
+        }
+
+        private static Duration percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, index)]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "jobs=%d jobs/sec=%.1f p50=%.3fms p99=%.3fms p999=%.3fms",
+                    jobs, jobsPerSecond, millis(p50), millis(p99), millis(p999));
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+
+    /*
+     * Runs a ComputeModule with an echo function against a LocalRuntime, configured by key=value arguments:
+     * rate (jobs/sec, 0 for closed loop), concurrency, durationSeconds, payloadBytes, pollers and warmupSeconds.
+     */
+    public static void main(String[] args) {
+        Map<String, String> config = new HashMap<>(Map.of(
+                "rate", "0",
+                "concurrency", "16",
+                "durationSeconds", "30",
+                "payloadBytes", "1024",
+                "pollers", "4",
+                "warmupSeconds", "5"));
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            config.put(parts[0], parts[1]);
+        }
+        int rate = Integer.parseInt(config.get("rate"));
+        int concurrency = Integer.parseInt(config.get("concurrency"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(config.get("durationSeconds")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(config.get("warmupSeconds")));
+        String query = "\"" + "x".repeat(Integer.parseInt(config.get("payloadBytes"))) + "\"";
+
+        try (LocalRuntime runtime = new LocalRuntime()) {
+            ComputeModule module = ComputeModule.builder()
+                    .add(LoadGenerator::echo, String.class, String.class, "echo")
+                    .withClient(new ComputeModuleClient(
+                            runtime.jobUri(), runtime.resultsUri(), runtime.moduleAuthToken()))
+                    .withPollers(Integer.parseInt(config.get("pollers")))
+                    .build();
+            Thread poller = new Thread(module::start, "load-generator-module");
+            poller.setDaemon(true);
+            poller.start();
+
+            LoadGenerator generator = new LoadGenerator(runtime, "echo", query);
+            System.out.println("warmup: " + generator.runAtConcurrency(concurrency, warmup));
+            Report report = rate > 0
+                    ? generator.runAtRate(rate, duration)
+                    : generator.runAtConcurrency(concurrency, duration);
+            System.out.println(report);
+        }
+    }
+
+    private static String echo(Context context, String input) {
+        return input;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.runtime;
+
+import com.palantir.computemodules.functions.results.ContentEncoding;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * A stand-in for the compute module runtime, serving the /job and /results/{jobId} endpoints that
+ * ComputeModuleClient talks to on a loopback port. GET /job is long polled, it is held open for up to
+ * longPollTimeout waiting for a job before answering 204.
+ */
+public final class LocalRuntime implements AutoCloseable {
+    private static final String AUTH_HEADER = "Module-Auth-Token";
+
+    static {
+        // without TCP_NODELAY small responses stall on delayed acks, adding ~40ms to every job
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final String moduleAuthToken = UUID.randomUUID().toString();
+    private final Duration longPollTimeout;
+    private final BlockingQueue<byte[]> jobs = new LinkedBlockingQueue<>();
+    private final Map<String, CompletableFuture<byte[]>> results = new ConcurrentHashMap<>();
+    private final Map<String, String> queryTypes = new ConcurrentHashMap<>();
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+    private final AtomicInteger resultPostsToFail = new AtomicInteger();
+    private final AtomicInteger jobRequests = new AtomicInteger();
+
+    public LocalRuntime() {
+        this(Duration.ofSeconds(5));
+    }
+
+    public LocalRuntime(Duration longPollTimeout) {
+        this.longPollTimeout = longPollTimeout;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/job", this::handleJob);
+        server.createContext("/results/", this::handleResult);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public URI jobUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/job");
+    }
+
+    public URI resultsUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/results");
+    }
+
+    public String moduleAuthToken() {
+        return moduleAuthToken;
+    }
+
+    /*
+     * Number of GET /job requests served, including empty polls.
+     */
+    public int jobRequests() {
+        return jobRequests.get();
+    }
+
+    /*
+     * Answers the next count result posts with 503, as a runtime that is briefly unavailable would.
+     */
+    public void failNextResultPosts(int count) {
+        resultPostsToFail.set(count);
+    }
+
+    /*
+     * The Content-Type of the last result posted for the query type.
+     */
+    public Optional<String> contentType(String queryType) {
+        return Optional.ofNullable(contentTypes.get(queryType));
+    }
+
+    /*
+     * Queues a job, query must be JSON. The returned future completes with the posted result body.
+     */
+    public CompletableFuture<byte[]> submit(String queryType, String query) {
+        String jobId = UUID.randomUUID().toString();
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        results.put(jobId, result);
+        queryTypes.put(jobId, queryType);
+        String job = "{\"jobId\":\"" + jobId + "\",\"queryType\":\"" + queryType + "\",\"query\":" + query + "}";
+        jobs.add(job.getBytes(StandardCharsets.UTF_8));
+        return result;
+    }
+
+    private void handleJob(HttpExchange exchange) throws IOException {
+        try {
+            if (!authorized(exchange)) {
+                return;
+            }
+            jobRequests.incrementAndGet();
+            byte[] job = jobs.poll(longPollTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (job == null) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                exchange.sendResponseHeaders(200, job.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(job);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleResult(HttpExchange exchange) throws IOException {
+        try {
+            if (!authorized(exchange)) {
+                return;
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            Optional<ContentEncoding> encoding =
+                    Optional.ofNullable(contentEncoding).flatMap(ContentEncoding::fromHeader);
+            InputStream requestBody = exchange.getRequestBody();
+            try (InputStream in = encoding.isPresent() ? encoding.get().decode(requestBody) : requestBody) {
+                in.transferTo(body);
+            }
+            if (resultPostsToFail.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String jobId = path.substring(path.lastIndexOf('/') + 1);
+            CompletableFuture<byte[]> result = results.remove(jobId);
+            if (result == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            contentTypes.put(queryTypes.remove(jobId), exchange.getRequestHeaders().getFirst("Content-Type"));
+            exchange.sendResponseHeaders(204, -1);
+            result.complete(body.toByteArray());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) throws IOException {
+        if (moduleAuthToken.equals(exchange.getRequestHeaders().getFirst(AUTH_HEADER))) {
+            return true;
+        }
+        exchange.sendResponseHeaders(401, -1);
+        return false;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.computemodules.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.palantir.computemodules.ComputeModule;
+import com.palantir.computemodules.client.ComputeModuleClient;
+import com.palantir.computemodules.functions.Context;
+import com.palantir.computemodules.functions.FunctionOptions;
+import com.palantir.computemodules.functions.results.CompressionPolicy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LocalRuntimeTest {
+
+    private static final LocalRuntime runtime = new LocalRuntime(Duration.ofMillis(200));
+    private static final AtomicInteger serializations = new AtomicInteger();
+
+    @BeforeAll
+    static void before() {
+        ComputeModule module = ComputeModule.builder()
+                .add(LocalRuntimeTest::hello, String.class, String.class, "hello")
+                .add(LocalRuntimeTest::bytes, Integer.class, byte[].class, "bytes")
+                .add(LocalRuntimeTest::file, Integer.class, Path.class, "file")
+                .add(LocalRuntimeTest::mapped, Integer.class, ByteBuffer.class, "mapped")
+                .add(LocalRuntimeTest::count, InputStream.class, Long.class, "count")
+                .add(LocalRuntimeTest::rows, Integer.class, Stream.class, "rows")
+                .add(LocalRuntimeTest::unserializable, Integer.class, Unserializable.class, "unserializable")
+                .add(
+                        LocalRuntimeTest::repeat,
+                        Integer.class,
+                        String[].class,
+                        "gzipRepeat",
+                        FunctionOptions.builder()
+                                .withCompression(CompressionPolicy.gzip(1024))
+                                .build())
+                .withClient(new ComputeModuleClient(runtime.jobUri(), runtime.resultsUri(), runtime.moduleAuthToken()))
+                .withPollers(2)
+                .build();
+        Thread poller = new Thread(module::start);
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @AfterAll
+    static void after() {
+        runtime.close();
+    }
+
+    @Test
+    void test_jobs_round_trip_over_http() {
+        byte[] result = runtime.submit("hello", "\"Compute Module\"").join();
+        assertEquals(new String(result, StandardCharsets.UTF_8), "\"hello Compute Module\"");
+        assertEquals(runtime.contentType("hello"), Optional.of("application/json"));
+    }
+
+    @Test
+    void test_result_post_is_retried() {
+        runtime.failNextResultPosts(2);
+        byte[] result = runtime.submit("hello", "\"retry\"").join();
+        assertEquals(new String(result, StandardCharsets.UTF_8), "\"hello retry\"");
+    }
+
+    @Test
+    void test_load_generator_reports_latency() {
+        LoadGenerator generator = new LoadGenerator(runtime, "hello", "\"load\"");
+        LoadGenerator.Report closedLoop = generator.runAtConcurrency(4, Duration.ofMillis(500));
+        LoadGenerator.Report openLoop = generator.runAtRate(200, Duration.ofMillis(500));
+
+        assertTrue(closedLoop.jobs() > 0);
+        assertTrue(openLoop.jobs() >= 99);
+        assertTrue(openLoop.p50().compareTo(openLoop.p999()) <= 0);
+    }
+
+    @Test
+    void test_raw_outputs_are_posted_as_is() {
+        int size = 3 * 64 * 1024 + 17;
+        for (String function : List.of("bytes", "file", "mapped")) {
+            runtime.failNextResultPosts(1);
+            byte[] result = runtime.submit(function, Integer.toString(size)).join();
+            assertTrue(Arrays.equals(result, content(size)), function);
+            assertEquals(runtime.contentType(function), Optional.of("application/octet-stream"));
+        }
+    }
+
+    @Test
+    void test_compressed_results_are_decoded_by_the_runtime() {
+        runtime.failNextResultPosts(1);
+        byte[] result = runtime.submit("gzipRepeat", "100000").join();
+        assertEquals(new String(result, StandardCharsets.UTF_8), "[" + "\"compute\",".repeat(99999) + "\"compute\"]");
+        assertEquals(runtime.contentType("gzipRepeat"), Optional.of("application/json"));
+    }
+
+    @Test
+    void test_large_queries_are_spilled_and_streamed() {
+        String query = "\"" + "spill".repeat(100_000) + "\"";
+        System.setProperty("computemodules.spillThresholdBytes", "65536");
+        try {
+            byte[] result = runtime.submit("count", query).join();
+            assertEquals(new String(result, StandardCharsets.UTF_8), Integer.toString(query.length()));
+        } finally {
+            System.clearProperty("computemodules.spillThresholdBytes");
+        }
+    }
+
+    @Test
+    void test_stream_outputs_are_posted_as_ndjson() {
+        String result = new String(runtime.submit("rows", "100000").join(), StandardCharsets.UTF_8);
+        List<String> lines = result.lines().toList();
+        assertEquals(lines.size(), 100000);
+        assertEquals(lines.get(99999), "{\"id\":99999,\"name\":\"row 99999\"}");
+    }
+
+    @Test
+    void test_serialization_failures_are_posted_without_retries() {
+        int before = serializations.get();
+        String result = new String(runtime.submit("unserializable", "1").join(), StandardCharsets.UTF_8);
+        assertTrue(result.contains("com.fasterxml.jackson.databind.JsonMappingException"), result);
+        assertTrue(result.contains("Intentionally unserializable"), result);
+        assertEquals(serializations.get() - before, 1);
+    }
+
+    static String hello(Context context, String name) {
+        return "hello " + name;
+    }
+
+    static String[] repeat(Context context, Integer count) {
+        String[] repeated = new String[count];
+        Arrays.fill(repeated, "compute");
+        return repeated;
+    }
+
+    static Long count(Context context, InputStream query) {
+        try (InputStream in = query) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Stream<Row> rows(Context context, Integer count) {
+        return IntStream.range(0, count).mapToObj(i -> new Row(i, "row " + i));
+    }
+
+    record Row(int id, String name) {}
+
+    static Unserializable unserializable(Context context, Integer input) {
+        return new Unserializable();
+    }
+
+    static final class Unserializable {
+        @SuppressWarnings("DoNotCallSuggester")
+        public String getValue() {
+            serializations.incrementAndGet();
+            throw new RuntimeException("Intentionally unserializable");
+        }
+    }
+
+    static byte[] bytes(Context context, Integer size) {
+        return content(size);
+    }
+
+    static Path file(Context context, Integer size) {
+        try {
+            Path path = Files.createTempFile("result", ".bin");
+            path.toFile().deleteOnExit();
+            return Files.write(path, content(size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ByteBuffer mapped(Context context, Integer size) {
+        try (FileChannel channel = FileChannel.open(file(context, size), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+}